@@ -0,0 +1,29 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong;
+
+/**
+ * Platform services used by the game.
+ */
+public interface IPlatform
+{
+    /**
+     * Keeps screen on while the game is played, lets the device sleep otherwise.
+     * @param keepScreenOn is true during active play.
+     */
+    void keepScreenOn(boolean keepScreenOn);
+}
@@ -20,20 +20,48 @@ import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.WindowManager;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 import com.badlogic.gdx.backends.android.AndroidFragmentApplication;
 
 /**
  * Creates Pong game view.
+ * Keeps screen on during active play instead of holding a wakelock.
  */
-public class MainFragment extends AndroidFragmentApplication
+public class MainFragment extends AndroidFragmentApplication implements IPlatform
 {
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState)
     {
         AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
-        config.useWakelock = true;
+        config.useWakelock = false;
 
-        return initializeForView(new Pong(getResources()), config);
+        return initializeForView(new Pong(getResources(), this), config);
+    }
+
+    @Override
+    public void keepScreenOn(final boolean keepScreenOn)
+    {
+        // Window flags are set on the UI thread.
+        runOnUiThread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                if(getActivity() == null)
+                {
+                    return;
+                }
+
+                if(keepScreenOn)
+                {
+                    getActivity().getWindow().addFlags(WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON);
+                }
+                else
+                {
+                    getActivity().getWindow().clearFlags(WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON);
+                }
+            }
+        });
     }
 }
@@ -18,42 +18,70 @@ package com.gokhankanber.android.pong;
 
 import android.content.res.Resources;
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.gokhankanber.android.pong.controller.RenderScheduler;
 import com.gokhankanber.android.pong.provider.Asset;
 import com.gokhankanber.android.pong.provider.Character;
+import com.gokhankanber.android.pong.provider.Viewport;
 import com.gokhankanber.android.pong.view.MainMenuScreen;
 
 /**
  * Pong main game class.
  * Loads assets.
- * Contains resources.
+ * Contains resources, viewport and render scheduler.
  */
 public class Pong extends Game
 {
     private Asset asset;
     private Resources resources;
+    private IPlatform platform;
+    private RenderScheduler renderScheduler;
+    private Viewport viewport;
 
-    public Pong(Resources resources)
+    public Pong(Resources resources, IPlatform platform)
     {
         this.resources = resources;
+        this.platform = platform;
     }
 
     @Override
     public void create()
     {
         asset = Asset.get();
+        renderScheduler = new RenderScheduler(platform);
+        viewport = new Viewport(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         setScreen(new MainMenuScreen(this));
     }
 
+    @Override
+    public void resize(int width, int height)
+    {
+        viewport.update(width, height);
+
+        super.resize(width, height);
+    }
+
     @Override
     public void dispose()
     {
         super.dispose();
 
         asset.dispose();
+        renderScheduler.dispose();
     }
 
     public Resources getResources()
     {
         return resources;
     }
+
+    public Viewport getViewport()
+    {
+        return viewport;
+    }
+
+    public RenderScheduler getRenderScheduler()
+    {
+        return renderScheduler;
+    }
 }
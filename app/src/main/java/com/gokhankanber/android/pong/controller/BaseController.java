@@ -21,19 +21,28 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.gokhankanber.android.pong.Pong;
+import com.gokhankanber.android.pong.controller.render.GLRenderBackend;
 import com.gokhankanber.android.pong.provider.Asset;
 import com.gokhankanber.android.pong.provider.Config;
+import com.gokhankanber.android.pong.provider.Viewport;
+import com.gokhankanber.android.pong.render.RenderCommands;
+import com.gokhankanber.android.pong.render.RenderMetrics;
 
 /**
  * Base controller class for view controllers.
- * Contains game, asset, batch, and camera context.
+ * Contains game, asset, batch, text renderer, render commands, viewport and camera context.
+ * Controllers add render commands of a frame and flush them to the render backend.
  */
 public abstract class BaseController implements IBaseController
 {
     protected Pong game;
     protected Asset asset;
     protected SpriteBatch batch;
+    protected TextRenderer textRenderer;
+    protected RenderCommands commands;
+    private GLRenderBackend renderBackend;
     protected OrthographicCamera camera;
+    protected Viewport viewport;
 
     public BaseController(Pong game)
     {
@@ -47,19 +56,91 @@ public abstract class BaseController implements IBaseController
         // Set camera position to screen center.
         // Create batch.
         asset = Asset.get();
-        camera = new OrthographicCamera(Config.WIDTH, Config.getHeight());
-        camera.position.set(camera.viewportWidth / 2, camera.viewportHeight / 2, 0);
-        camera.update();
+        viewport = game.getViewport();
+        camera = new OrthographicCamera();
         batch = new SpriteBatch();
+        updateCamera();
+
+        if(Config.TYPE_TEXT == Config.TextType.TEXTURE)
+        {
+            textRenderer = new TextRenderer(batch);
+        }
+
+        commands = new RenderCommands();
+        renderBackend = new GLRenderBackend(batch, camera, textRenderer);
+    }
+
+    /**
+     * Updates camera and content if viewport is changed after the content is created.
+     */
+    @Override
+    public void resize()
+    {
+        if(viewport.getHeight() != camera.viewportHeight)
+        {
+            updateCamera();
+            layout();
+        }
+    }
+
+    /**
+     * Lays out content for the new viewport size.
+     */
+    protected void layout()
+    {
+    }
+
+    private void updateCamera()
+    {
+        camera.setToOrtho(false, viewport.getWidth(), viewport.getHeight());
         batch.setProjectionMatrix(camera.combined);
     }
 
     @Override
     public void release()
     {
+        renderBackend.dispose();
         batch.dispose();
     }
 
+    /**
+     * Renders and clears render commands of the frame.
+     */
+    protected void flush()
+    {
+        renderBackend.render(commands);
+        commands.clear();
+        RenderMetrics metrics = renderBackend.getMetrics();
+
+        if(Config.LOG_RENDER_METRICS && metrics.getFrames() % Config.RENDER_METRICS_LOG_FRAMES == 0)
+        {
+            Gdx.app.log("RenderMetrics", metrics.toString());
+        }
+    }
+
+    /**
+     * Adds a resource for render commands to the render backend.
+     * @param resource is a texture region, font or sprite cache.
+     * @return handle of resource.
+     */
+    protected int addResource(Object resource)
+    {
+        return renderBackend.addResource(resource);
+    }
+
+    public GLRenderBackend getRenderBackend()
+    {
+        return renderBackend;
+    }
+
+    /**
+     * @return render counters of the last frame and aggregates.
+     */
+    public RenderMetrics getRenderMetrics()
+    {
+        return renderBackend.getMetrics();
+    }
+
     /**
      * Clears the screen with black color.
      */
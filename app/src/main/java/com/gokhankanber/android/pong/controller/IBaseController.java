@@ -21,5 +21,6 @@ public interface IBaseController
     void init();
     void update(float delta);
     void draw(float delta);
+    void resize();
     void release();
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.controller;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Timer;
+import com.gokhankanber.android.pong.IPlatform;
+import com.gokhankanber.android.pong.provider.Config;
+
+/**
+ * Switches between continuous and non-continuous rendering by the state of the screen.
+ * Active play renders continuously and keeps the screen on.
+ * Timed states render at a low rate for a countdown, idle states render only on input.
+ */
+public class RenderScheduler
+{
+    public enum Mode
+    {
+        ACTIVE,
+        TIMED,
+        IDLE
+    }
+
+    private final IPlatform platform;
+    private Mode mode;
+    private boolean skipDelta = false;
+    private Timer.Task frameTask;
+
+    /**
+     * Should be created after the application is created, timer tasks post to the application.
+     * @param platform keeps screen on.
+     */
+    public RenderScheduler(IPlatform platform)
+    {
+        this.platform = platform;
+
+        frameTask = new Timer.Task()
+        {
+            @Override
+            public void run()
+            {
+                Gdx.graphics.requestRendering();
+            }
+        };
+    }
+
+    /**
+     * Sets rendering mode, does nothing if the mode is not changed.
+     * @param next is the rendering mode of the current state.
+     */
+    public void setMode(Mode next)
+    {
+        if(next == mode)
+        {
+            return;
+        }
+
+        if(mode == Mode.TIMED)
+        {
+            frameTask.cancel();
+        }
+
+        // Time spent idle is not simulated.
+        skipDelta = mode == Mode.IDLE;
+
+        switch(next)
+        {
+            case ACTIVE:
+                Gdx.graphics.setContinuousRendering(true);
+                break;
+            case TIMED:
+                Gdx.graphics.setContinuousRendering(false);
+                Timer.schedule(frameTask, Config.TIMED_FRAME_TIME, Config.TIMED_FRAME_TIME);
+                break;
+            case IDLE:
+                Gdx.graphics.setContinuousRendering(false);
+                Gdx.graphics.requestRendering();
+                break;
+        }
+
+        platform.keepScreenOn(next == Mode.ACTIVE);
+        mode = next;
+    }
+
+    public Mode getMode()
+    {
+        return mode;
+    }
+
+    /**
+     * @param delta is time span between the current and the last frame in seconds.
+     * @return delta, or zero for the first frame after idle mode.
+     */
+    public float getDelta(float delta)
+    {
+        if(skipDelta)
+        {
+            skipDelta = false;
+
+            return 0;
+        }
+
+        return delta;
+    }
+
+    public void dispose()
+    {
+        frameTask.cancel();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.controller;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.gokhankanber.android.pong.provider.Asset;
+
+/**
+ * Draws text with character regions of asset atlas.
+ * Each character is drawn in a square cell, characters without pixel data leave an empty cell.
+ */
+public class TextRenderer
+{
+    private SpriteBatch batch;
+    private Asset asset;
+
+    public TextRenderer(SpriteBatch batch)
+    {
+        this.batch = batch;
+        asset = Asset.get();
+    }
+
+    /**
+     * Draws text, should be called between begin and end of batch.
+     * @param text to draw.
+     * @param x is left of text.
+     * @param y is bottom of text.
+     * @param size is width and height of a character cell.
+     * @return number of drawn characters.
+     */
+    public int draw(CharSequence text, float x, float y, float size)
+    {
+        int length = text.length();
+        int count = 0;
+
+        for(int i = 0; i < length; i++)
+        {
+            TextureRegion glyph = asset.getGlyph(text.charAt(i));
+
+            if(glyph != null)
+            {
+                batch.draw(glyph, x + i * size, y, size, size);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * @param text to measure.
+     * @param size is width of a character cell.
+     * @return width of text.
+     */
+    public float getWidth(CharSequence text, float size)
+    {
+        return text.length() * size;
+    }
+}
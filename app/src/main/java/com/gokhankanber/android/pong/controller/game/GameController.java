@@ -18,25 +18,27 @@ package com.gokhankanber.android.pong.controller.game;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.gokhankanber.android.pong.Pong;
 import com.gokhankanber.android.pong.R;
 import com.gokhankanber.android.pong.controller.BaseController;
+import com.gokhankanber.android.pong.controller.RenderScheduler;
 import com.gokhankanber.android.pong.controller.game.GameInputController.InputListener;
+import com.gokhankanber.android.pong.model.Rules;
 import com.gokhankanber.android.pong.model.World;
 import com.gokhankanber.android.pong.provider.Config;
 import com.gokhankanber.android.pong.provider.Font;
+import com.gokhankanber.android.pong.render.RenderCommands;
+import com.gokhankanber.android.pong.replay.ReplayRecorder;
 
 /**
  * Controller class for {@link com.gokhankanber.android.pong.view.GameScreen} class.
  * Listens for user input.
  * Creates, updates and renders world.
  * Draws game menu: pause menu, win / game over menu.
+ * In soak mode, cpus play both paddles and new games start automatically.
  */
 public class GameController extends BaseController
 {
@@ -47,36 +49,53 @@ public class GameController extends BaseController
         END
     }
 
+    /**
+     * Layout of a game menu, created once for each game menu type.
+     * End menu contains positions of both win and game over messages.
+     */
+    private static class GameMenu
+    {
+        private String[] items;
+        private Rectangle[] bounds;
+        private float[] fontX;
+        private float[] fontY;
+        private String win;
+        private String gameOver;
+        private float winX;
+        private float gameOverX;
+        private float messageY;
+    }
+
     private final float gameMenuPaddingTop = 20;
     private final float gameMenuWidth = 300;
     private final float gameMenuHeight = 200;
     private final float gameMenuX = (Config.WIDTH - gameMenuWidth) / 2;
-    private final float gameMenuY = (Config.getHeight() - gameMenuHeight) / 2;
+    private float gameMenuY;
 
     private final float gameMenuItemWidth = 200.0f;
     private final float gameMenuItemHeight = 36.0f;
     private final float gameMenuItemX = (Config.WIDTH - gameMenuItemWidth) / 2;
     private final int gameMenuFontSize = 26;
     private BitmapFont gameMenuFont;
+    private int gameMenuFontHandle;
+    private GlyphLayout glyphLayout;
     private String gameEndMessage;
-
-    private ShapeRenderer shapeRenderer;
-    private Color gameMenuBackgroundColor;
-    private Rectangle[] menuItemBounds;
-    private String[] gameMenuItems;
     private float gameEndMessageX;
-    private float gameEndMessageY;
-    private float[] gameMenuItemsFontX;
-    private float[] gameMenuItemsFontY;
-    private float[] gameMenuItemsBoundY;
+
+    private final int gameMenuBackgroundColor = Color.rgba8888(0.0f, 0.0f, 0.0f, 0.9f);
     private final int menuItemFontSize = 26;
-    private Texture[] menuItemTextures;
-    private Texture gameEndMessageTexture;
+
+    // Cached game menus by type and current game menu
+    private final GameMenu[] gameMenus = new GameMenu[GameMenuType.values().length];
+    private GameMenu gameMenu;
+    private GameMenuType gameMenuType;
 
     // Input, world, world renderer
     private GameInputController inputController;
     private World world;
     private WorldRenderer worldRenderer;
+    private ReplayRecorder replayRecorder;
+    private SoakMonitor soakMonitor;
 
     public GameController(Pong game)
     {
@@ -94,16 +113,72 @@ public class GameController extends BaseController
         Gdx.input.setCatchBackKey(true);
 
         // Init world
-        world = new World();
-        worldRenderer = new WorldRenderer(world, batch, camera);
+        int ballCount = Config.TYPE_GAME == Config.GameType.MULTI_BALL ? Config.MULTI_BALL_COUNT : 1;
+        gameMenuY = (viewport.getHeight() - gameMenuHeight) / 2;
+        Rules rules = Config.TYPE_CPU == Config.CpuType.POLICY ? new Rules(asset.getCpuPolicy()) : new Rules();
+        world = new World(viewport.getHeight(), asset, rules, ballCount);
+        worldRenderer = new WorldRenderer(world, getRenderBackend());
+
+        // Init game menu font once
+        if(Config.TYPE_TEXT == Config.TextType.FONT)
+        {
+            gameMenuFont = new Font().create(Font.FONT)
+                    .size(gameMenuFontSize)
+                    .border(1, Color.BLACK)
+                    .shadow(1, 1, Color.DARK_GRAY)
+                    .build();
+            gameMenuFontHandle = addResource(gameMenuFont);
+            glyphLayout = new GlyphLayout();
+        }
+
+        // Record match to local storage
+        if(Config.RECORD_REPLAY)
+        {
+            replayRecorder = new ReplayRecorder(Gdx.files.local(Config.REPLAY_FILE));
+            replayRecorder.begin(world);
+        }
+
+        // Let cpus play unattended and sample resources
+        if(Config.SOAK)
+        {
+            world.getPaddle1().setCpu();
+            soakMonitor = new SoakMonitor(Gdx.files.local(Config.SOAK_FILE), Gdx.files.local(Config.SOAK_SUMMARY_FILE), getRenderMetrics());
+        }
 
         // Init pause menu
         resetGameMenu(GameMenuType.PAUSE);
     }
 
+    /**
+     * Resizes world, rebuilds world renderer cache and game menus for the new viewport height.
+     */
+    @Override
+    protected void layout()
+    {
+        gameMenuY = (viewport.getHeight() - gameMenuHeight) / 2;
+        world.resize(viewport.getHeight());
+        worldRenderer.resize();
+
+        for(int i = 0; i < gameMenus.length; i++)
+        {
+            gameMenus[i] = null;
+        }
+
+        resetGameMenu(gameMenuType);
+        prepareEndMenu();
+    }
+
     @Override
     public void update(float delta)
     {
+        if(soakMonitor != null)
+        {
+            soak(delta);
+        }
+
+        schedule();
+        delta = game.getRenderScheduler().getDelta(delta);
+
         // Update world on resume and ready states
         // Init win / game over menu on ending state and set world's state to end
         if(world.isResumed() || world.isReady())
@@ -114,18 +189,10 @@ public class GameController extends BaseController
             {
                 worldRenderer.resetWorld();
                 world.resetScoreChanged();
+                prepareEndMenu();
 
                 if(world.isEnding())
                 {
-                    if(world.isGameOver())
-                    {
-                        gameEndMessage = game.getResources().getString(R.string.game_over);
-                    }
-                    else
-                    {
-                        gameEndMessage = game.getResources().getString(R.string.win);
-                    }
-
                     Gdx.app.postRunnable(new Runnable()
                     {
                         @Override
@@ -140,19 +207,62 @@ public class GameController extends BaseController
         }
     }
 
+    /**
+     * Adds frame to soak monitor and starts a new game when a game ends.
+     * @param delta is time span between the current and the last frame in seconds.
+     */
+    private void soak(float delta)
+    {
+        soakMonitor.frame(delta);
+
+        if(world.isEnd())
+        {
+            soakMonitor.addMatch();
+            world.newGame();
+            resetGameMenu(GameMenuType.PAUSE);
+        }
+    }
+
+    /**
+     * Sets render mode by world state.
+     * Resumed world renders continuously, ready state renders at a low rate for the countdown.
+     * Paused and ended world renders only on input.
+     */
+    private void schedule()
+    {
+        RenderScheduler.Mode mode;
+
+        if(world.isResumed())
+        {
+            mode = RenderScheduler.Mode.ACTIVE;
+        }
+        else if(world.isReady())
+        {
+            mode = RenderScheduler.Mode.TIMED;
+        }
+        else
+        {
+            mode = RenderScheduler.Mode.IDLE;
+        }
+
+        game.getRenderScheduler().setMode(mode);
+    }
+
     @Override
     public void draw(float delta)
     {
         clear();
 
         // Render world
-        worldRenderer.render();
+        worldRenderer.render(commands);
 
         // Draw game menu: pause menu, win / game over menu
         if(world.isPaused() || world.isEnd())
         {
             drawGameMenu();
         }
+
+        flush();
     }
 
     @Override
@@ -165,129 +275,159 @@ public class GameController extends BaseController
             gameMenuFont.dispose();
         }
 
-        shapeRenderer.dispose();
         worldRenderer.dispose();
+
+        if(replayRecorder != null)
+        {
+            replayRecorder.close();
+        }
+
+        if(soakMonitor != null)
+        {
+            soakMonitor.finish();
+        }
     }
 
     /**
-     * Resets game menu content and creates game menu.
-     * Creates menu item click bounds.
-     * @param gameMenuType is used to reset menu items.
+     * Sets current game menu, creates it if it is not cached.
+     * @param gameMenuType is used to select menu items.
      */
     private void resetGameMenu(GameMenuType gameMenuType)
     {
-        switch(gameMenuType)
-        {
-            case PAUSE:
-                pauseMenuItems();
-                break;
-            case END:
-                endMenuItems();
-                break;
-        }
-
-        initGameMenu();
+        this.gameMenuType = gameMenuType;
+        gameMenu = getGameMenu(gameMenuType);
 
-        int menuItemsLength = gameMenuItems.length;
-        menuItemBounds = new Rectangle[menuItemsLength];
-
-        for(int i = 0; i < gameMenuItems.length; i++)
+        if(gameMenuType == GameMenuType.END)
         {
-            menuItemBounds[i] = new Rectangle(gameMenuItemX, gameMenuItemsBoundY[i], gameMenuItemWidth, gameMenuItemHeight);
+            gameEndMessage = world.isGameOver() ? gameMenu.gameOver : gameMenu.win;
+            gameEndMessageX = world.isGameOver() ? gameMenu.gameOverX : gameMenu.winX;
         }
     }
 
-    private void pauseMenuItems()
+    /**
+     * Creates end menu before the game ends, when a score is one point away from max points.
+     */
+    private void prepareEndMenu()
     {
-        // Get string values from res/values/strings.xml resource files.
-        gameMenuItems = new String[]{
-                game.getResources().getString(R.string.resume),
-                game.getResources().getString(R.string.new_game)
-        };
+        if(Math.max(world.getPaddle1().points, world.getPaddle2().points) >= Config.MAX_POINTS - 1)
+        {
+            getGameMenu(GameMenuType.END);
+        }
     }
 
-    private void endMenuItems()
+    private GameMenu getGameMenu(GameMenuType gameMenuType)
     {
-        gameMenuItems = new String[]{
-                game.getResources().getString(R.string.new_game)
-        };
+        int index = gameMenuType.ordinal();
+
+        if(gameMenus[index] == null)
+        {
+            gameMenus[index] = createGameMenu(gameMenuType);
+        }
+
+        return gameMenus[index];
     }
 
     /**
-     * Creates black transparent background of game menu by using ShapeRenderer.
-     * Creates a font and sets x and y coordinates of the content by using GlyphLayout.
+     * Creates game menu content, sets x and y coordinates of the content and creates menu item click bounds.
+     * @param gameMenuType is used to select menu items.
+     * @return game menu.
      */
-    private void initGameMenu()
+    private GameMenu createGameMenu(GameMenuType gameMenuType)
     {
-        shapeRenderer = new ShapeRenderer();
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        gameMenuBackgroundColor = new Color(0.0f, 0.0f, 0.0f, 0.9f);
+        GameMenu menu = new GameMenu();
 
-        int menuItemsLength = gameMenuItems.length;
-        gameMenuItemsFontX = new float[menuItemsLength];
-        gameMenuItemsFontY = new float[menuItemsLength];
-        gameMenuItemsBoundY = new float[menuItemsLength];
-        menuItemTextures = new Texture[menuItemsLength];
+        switch(gameMenuType)
+        {
+            case PAUSE:
+                pauseMenuItems(menu);
+                break;
+            case END:
+                endMenuItems(menu);
+                break;
+        }
 
-        float height = gameMenuHeight;
+        int menuItemsLength = menu.items.length;
+        menu.fontX = new float[menuItemsLength];
+        menu.fontY = new float[menuItemsLength];
+        menu.bounds = new Rectangle[menuItemsLength];
 
         switch(Config.TYPE_TEXT)
         {
             case TEXTURE:
-                initGameMenuWithTexture(menuItemsLength, height);
+                initGameMenuWithTexture(menu, gameMenuHeight);
                 break;
             case FONT:
-                initGameMenuWithFont(menuItemsLength, height);
+                initGameMenuWithFont(menu, gameMenuHeight);
                 break;
         }
+
+        return menu;
+    }
+
+    private void pauseMenuItems(GameMenu menu)
+    {
+        // Get string values from res/values/strings.xml resource files.
+        menu.items = new String[]{
+                game.getResources().getString(R.string.resume),
+                game.getResources().getString(R.string.new_game)
+        };
+    }
+
+    private void endMenuItems(GameMenu menu)
+    {
+        menu.items = new String[]{
+                game.getResources().getString(R.string.new_game)
+        };
+
+        menu.win = game.getResources().getString(R.string.win);
+        menu.gameOver = game.getResources().getString(R.string.game_over);
     }
 
-    private void initGameMenuWithTexture(int menuItemsLength, float height)
+    private void initGameMenuWithTexture(GameMenu menu, float height)
     {
-        if(world.isEnding())
+        int menuItemsLength = menu.items.length;
+
+        if(menu.win != null)
         {
-            gameEndMessageTexture = asset.getTexture(gameEndMessage);
-            gameEndMessageX = (Config.WIDTH - gameEndMessage.length() * menuItemFontSize) / 2;
-            gameEndMessageY = height + gameMenuY - gameMenuPaddingTop - (gameMenuItemHeight + menuItemFontSize) / 2;
+            menu.winX = (Config.WIDTH - textRenderer.getWidth(menu.win, menuItemFontSize)) / 2;
+            menu.gameOverX = (Config.WIDTH - textRenderer.getWidth(menu.gameOver, menuItemFontSize)) / 2;
+            menu.messageY = height + gameMenuY - gameMenuPaddingTop - (gameMenuItemHeight + menuItemFontSize) / 2;
             height -= (gameMenuPaddingTop + gameMenuItemHeight);
         }
 
         for(int i = 0; i < menuItemsLength; i++)
         {
-            menuItemTextures[i] = asset.getTexture(gameMenuItems[i]);
-            gameMenuItemsFontX[i] = (Config.WIDTH - gameMenuItems[i].length() * menuItemFontSize) / 2;
-            gameMenuItemsBoundY[i] = (height + 2 * gameMenuY + (menuItemsLength * gameMenuItemHeight)) / 2 - (i + 1) * gameMenuItemHeight;
-            gameMenuItemsFontY[i] = gameMenuItemsBoundY[i] + (gameMenuItemHeight - menuItemFontSize) / 2;
+            float boundY = (height + 2 * gameMenuY + (menuItemsLength * gameMenuItemHeight)) / 2 - (i + 1) * gameMenuItemHeight;
+            menu.fontX[i] = (Config.WIDTH - textRenderer.getWidth(menu.items[i], menuItemFontSize)) / 2;
+            menu.fontY[i] = boundY + (gameMenuItemHeight - menuItemFontSize) / 2;
+            menu.bounds[i] = new Rectangle(gameMenuItemX, boundY, gameMenuItemWidth, gameMenuItemHeight);
         }
     }
 
-    private void initGameMenuWithFont(int menuItemsLength, float height)
+    private void initGameMenuWithFont(GameMenu menu, float height)
     {
-        Font font = new Font();
-        gameMenuFont = font.create(Font.FONT)
-                .size(gameMenuFontSize)
-                .border(1, Color.BLACK)
-                .shadow(1, 1, Color.DARK_GRAY)
-                .build();
+        int menuItemsLength = menu.items.length;
 
-        GlyphLayout glyphLayout = new GlyphLayout();
-
-        if(world.isEnding())
+        if(menu.win != null)
         {
-            glyphLayout.setText(gameMenuFont, gameEndMessage);
-            gameEndMessageX = (Config.WIDTH - glyphLayout.width) / 2;
-            gameEndMessageY = height + gameMenuY - gameMenuPaddingTop - (gameMenuItemHeight - glyphLayout.height) / 2;
+            glyphLayout.setText(gameMenuFont, menu.win);
+            menu.winX = (Config.WIDTH - glyphLayout.width) / 2;
+            menu.messageY = height + gameMenuY - gameMenuPaddingTop - (gameMenuItemHeight - glyphLayout.height) / 2;
+            glyphLayout.setText(gameMenuFont, menu.gameOver);
+            menu.gameOverX = (Config.WIDTH - glyphLayout.width) / 2;
             height -= (gameMenuPaddingTop + gameMenuItemHeight);
-            glyphLayout.reset();
         }
 
         for(int i = 0; i < menuItemsLength; i++)
         {
-            glyphLayout.setText(gameMenuFont, gameMenuItems[i]);
-            gameMenuItemsFontX[i] = (Config.WIDTH - glyphLayout.width) / 2;
-            gameMenuItemsBoundY[i] = (height + 2 * gameMenuY + (menuItemsLength * gameMenuItemHeight)) / 2 - (i + 1) * gameMenuItemHeight;
-            gameMenuItemsFontY[i] = gameMenuItemsBoundY[i] + (gameMenuItemHeight + glyphLayout.height) / 2;
+            glyphLayout.setText(gameMenuFont, menu.items[i]);
+            float boundY = (height + 2 * gameMenuY + (menuItemsLength * gameMenuItemHeight)) / 2 - (i + 1) * gameMenuItemHeight;
+            menu.fontX[i] = (Config.WIDTH - glyphLayout.width) / 2;
+            menu.fontY[i] = boundY + (gameMenuItemHeight + glyphLayout.height) / 2;
+            menu.bounds[i] = new Rectangle(gameMenuItemX, boundY, gameMenuItemWidth, gameMenuItemHeight);
         }
+
+        glyphLayout.reset();
     }
 
     /**
@@ -297,14 +437,7 @@ public class GameController extends BaseController
      */
     private void drawGameMenu()
     {
-        Gdx.gl.glEnable(GL20.GL_BLEND);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(gameMenuBackgroundColor);
-        shapeRenderer.rect(gameMenuX, gameMenuY, gameMenuWidth, gameMenuHeight);
-        shapeRenderer.end();
-        Gdx.gl.glDisable(GL20.GL_BLEND);
-
-        batch.begin();
+        commands.rect(gameMenuX, gameMenuY, gameMenuWidth, gameMenuHeight, gameMenuBackgroundColor);
 
         switch(Config.TYPE_TEXT)
         {
@@ -315,20 +448,18 @@ public class GameController extends BaseController
                 drawGameMenuWithFont();
                 break;
         }
-
-        batch.end();
     }
 
     private void drawGameMenuWithTexture()
     {
         if(world.isEnd())
         {
-            batch.draw(gameEndMessageTexture, gameEndMessageX, gameEndMessageY, gameEndMessage.length() * menuItemFontSize, menuItemFontSize);
+            commands.text(gameEndMessage, gameEndMessageX, gameMenu.messageY, menuItemFontSize, RenderCommands.NONE);
         }
 
-        for(int i = 0; i < gameMenuItems.length; i++)
+        for(int i = 0; i < gameMenu.items.length; i++)
         {
-            batch.draw(menuItemTextures[i], gameMenuItemsFontX[i], gameMenuItemsFontY[i], gameMenuItems[i].length() * menuItemFontSize, menuItemFontSize);
+            commands.text(gameMenu.items[i], gameMenu.fontX[i], gameMenu.fontY[i], menuItemFontSize, RenderCommands.NONE);
         }
     }
 
@@ -336,12 +467,12 @@ public class GameController extends BaseController
     {
         if(world.isEnd())
         {
-            gameMenuFont.draw(batch, gameEndMessage, gameEndMessageX, gameEndMessageY);
+            commands.text(gameEndMessage, gameEndMessageX, gameMenu.messageY, 0, gameMenuFontHandle);
         }
 
-        for(int i = 0; i < gameMenuItems.length; i++)
+        for(int i = 0; i < gameMenu.items.length; i++)
         {
-            gameMenuFont.draw(batch, gameMenuItems[i], gameMenuItemsFontX[i], gameMenuItemsFontY[i]);
+            commands.text(gameMenu.items[i], gameMenu.fontX[i], gameMenu.fontY[i], 0, gameMenuFontHandle);
         }
     }
 
@@ -366,10 +497,10 @@ public class GameController extends BaseController
         @Override
         public void move(float amount)
         {
-            // Move by amount of change in y coordinate
-            if(world.isResumed())
+            // Move by amount of change in y coordinate, cpu paddle of soak mode is not moved
+            if(world.isResumed() && !Config.SOAK)
             {
-                world.getPaddle1().move(amount);
+                world.move(amount);
             }
         }
 
@@ -383,13 +514,13 @@ public class GameController extends BaseController
             }
             else if(world.isPaused())
             {
-                if(menuItemBounds[0].contains(x, y))
+                if(gameMenu.bounds[0].contains(x, y))
                 {
                     // Pause menu: resume
                     asset.playButton();
                     world.resume();
                 }
-                else if(menuItemBounds[1].contains(x, y))
+                else if(gameMenu.bounds[1].contains(x, y))
                 {
                     // Pause menu: new
                     asset.playButton();
@@ -398,7 +529,7 @@ public class GameController extends BaseController
             }
             else if(world.isEnd())
             {
-                if(menuItemBounds[0].contains(x, y))
+                if(gameMenu.bounds[0].contains(x, y))
                 {
                     // Win / game over menu: new
                     asset.playButton();
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.controller.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.gokhankanber.android.pong.provider.Config;
+import com.gokhankanber.android.pong.render.RenderMetrics;
+
+import java.util.Locale;
+
+/**
+ * Samples memory, textures, frame times and cache rebuilds of an unattended soak run.
+ * Writes a CSV row every {@link Config#SOAK_SAMPLE_TIME} seconds and a summary when the run is finished.
+ * Growing heap, texture count or cache rebuilds between samples show a leak.
+ */
+public class SoakMonitor
+{
+    private static final String HEADER = "time,matches,java_heap,native_heap,managed_textures,frames,"
+            + "mean_frame_time_ms,max_frame_time_ms,cache_rebuilds";
+    private static final String TAG = "SoakMonitor";
+
+    private final FileHandle file;
+    private final FileHandle summaryFile;
+    private final RenderMetrics metrics;
+
+    // Run time, time of the current sample and matches
+    private float time = 0;
+    private float sampleTime = 0;
+    private int matches = 0;
+
+    // Frames of the current sample
+    private int frames = 0;
+    private float maxFrameTime = 0;
+
+    // Summary
+    private int samples = 0;
+    private long frameCount = 0;
+    private float worstFrameTime = 0;
+    private long firstJavaHeap, lastJavaHeap, maxJavaHeap;
+    private long firstNativeHeap, lastNativeHeap, maxNativeHeap;
+    private int firstTextures, lastTextures, maxTextures;
+    private long firstCacheRebuilds, lastCacheRebuilds;
+
+    /**
+     * @param file is CSV file of samples.
+     * @param summaryFile is summary file of the run.
+     * @param metrics are render counters of the game screen.
+     */
+    public SoakMonitor(FileHandle file, FileHandle summaryFile, RenderMetrics metrics)
+    {
+        this.file = file;
+        this.summaryFile = summaryFile;
+        this.metrics = metrics;
+        file.writeString(HEADER + "\n", false);
+        sample();
+    }
+
+    /**
+     * Adds a frame, samples when sample time is passed.
+     * @param delta is time span between the current and the last frame in seconds.
+     */
+    public void frame(float delta)
+    {
+        time += delta;
+        sampleTime += delta;
+        frames++;
+        frameCount++;
+        maxFrameTime = Math.max(maxFrameTime, delta);
+        worstFrameTime = Math.max(worstFrameTime, delta);
+
+        if(sampleTime >= Config.SOAK_SAMPLE_TIME)
+        {
+            sample();
+        }
+    }
+
+    public void addMatch()
+    {
+        matches++;
+    }
+
+    private void sample()
+    {
+        long javaHeap = Gdx.app.getJavaHeap();
+        long nativeHeap = Gdx.app.getNativeHeap();
+        int textures = Texture.getNumManagedTextures();
+        long cacheRebuilds = metrics.getTotal(RenderMetrics.Counter.CACHE_REBUILDS);
+
+        if(samples == 0)
+        {
+            firstJavaHeap = javaHeap;
+            firstNativeHeap = nativeHeap;
+            firstTextures = textures;
+            firstCacheRebuilds = cacheRebuilds;
+        }
+
+        lastJavaHeap = javaHeap;
+        lastNativeHeap = nativeHeap;
+        lastTextures = textures;
+        lastCacheRebuilds = cacheRebuilds;
+        maxJavaHeap = Math.max(maxJavaHeap, javaHeap);
+        maxNativeHeap = Math.max(maxNativeHeap, nativeHeap);
+        maxTextures = Math.max(maxTextures, textures);
+        samples++;
+
+        String row = String.format(Locale.US, "%.1f,%d,%d,%d,%d,%d,%.3f,%.3f,%d",
+                time,
+                matches,
+                javaHeap,
+                nativeHeap,
+                textures,
+                frames,
+                frames == 0 ? 0 : sampleTime / frames * 1000,
+                maxFrameTime * 1000,
+                cacheRebuilds);
+        file.writeString(row + "\n", true);
+        Gdx.app.log(TAG, row);
+
+        sampleTime = 0;
+        frames = 0;
+        maxFrameTime = 0;
+    }
+
+    /**
+     * Takes the last sample and writes summary of the run.
+     */
+    public void finish()
+    {
+        sample();
+
+        String summary = String.format(Locale.US, "time %.1f s, matches %d, samples %d, frames %d, "
+                        + "mean frame time %.3f ms, worst frame time %.3f ms%n"
+                        + "java heap first %d, last %d, max %d%n"
+                        + "native heap first %d, last %d, max %d%n"
+                        + "managed textures first %d, last %d, max %d%n"
+                        + "cache rebuilds first %d, last %d%n",
+                time, matches, samples, frameCount,
+                frameCount == 0 ? 0 : time / frameCount * 1000, worstFrameTime * 1000,
+                firstJavaHeap, lastJavaHeap, maxJavaHeap,
+                firstNativeHeap, lastNativeHeap, maxNativeHeap,
+                firstTextures, lastTextures, maxTextures,
+                firstCacheRebuilds, lastCacheRebuilds);
+        summaryFile.writeString(summary, false);
+        Gdx.app.log(TAG, summary);
+    }
+}
@@ -16,93 +16,159 @@
 
 package com.gokhankanber.android.pong.controller.game;
 
-import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.SpriteCache;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.gokhankanber.android.pong.controller.render.GLRenderBackend;
+import com.gokhankanber.android.pong.model.Ball;
 import com.gokhankanber.android.pong.model.Block;
+import com.gokhankanber.android.pong.model.Digit;
+import com.gokhankanber.android.pong.model.Model;
+import com.gokhankanber.android.pong.model.Paddle;
 import com.gokhankanber.android.pong.model.World;
 import com.gokhankanber.android.pong.provider.Asset;
 import com.gokhankanber.android.pong.provider.Config;
+import com.gokhankanber.android.pong.render.RenderCommands;
+import com.gokhankanber.android.pong.render.RenderMetrics;
 
 /**
  * World renderer class.
  * Creates and draws world, scoreboard, and models.
+ * Border, walls and digits are cached once, scoreboard digits are drawn with a translation.
+ * Model regions and the cache are added to the render backend, commands refer to them by handles.
  */
 public class WorldRenderer
 {
     // Score board
-    private final float scoreY = Config.getHeight() - Config.BLOCK * 7;
+    private float scoreY;
     private final float scorePaddle1X = Config.WIDTH / 2 - Config.BLOCK * 4;
     private final float scorePaddle2X = Config.WIDTH / 2 + Config.BLOCK * 4;
 
     // Render
     private World world;
-    private SpriteBatch batch;
-    private OrthographicCamera camera;
     private Asset asset;
-    private TextureRegion ballRegion, blockRegion, paddle1Region, paddle2Region;
+    private GLRenderBackend renderBackend;
+    private TextureRegion blockRegion;
+    private int ballRegion, paddle1Region, paddle2Region;
     private SpriteCache cache;
-    private int cacheId;
-
-    public WorldRenderer(World world, SpriteBatch batch, OrthographicCamera camera)
+    private int cacheHandle;
+    private int arenaCacheId;
+    private int arenaSize;
+    private RenderMetrics metrics;
+    private final int[] digitCacheIds = new int[10];
+
+    // Digits and x coordinates of scoreboard digits
+    private final int maxDigits = Digit.count(Integer.MAX_VALUE);
+    private final int[] scoreDigits = new int[maxDigits * 2];
+    private final float[] scoreDigitX = new float[maxDigits * 2];
+    private int scoreDigitCount;
+
+    public WorldRenderer(World world, GLRenderBackend renderBackend)
     {
         // Creates texture regions for models and create world.
         this.world = world;
-        this.batch = batch;
-        this.camera = camera;
+        this.renderBackend = renderBackend;
+        metrics = renderBackend.getMetrics();
         asset = Asset.get();
-        ballRegion = new TextureRegion(asset.getTexture(), (int) world.getBall().getWidth(), (int) world.getBall().getHeight());
-        blockRegion = new TextureRegion(asset.getTexture(), (int) Config.BLOCK, (int) Config.BLOCK);
-        paddle1Region = new TextureRegion(asset.getTexture(), (int) world.getPaddle1().getWidth(), (int) world.getPaddle1().getHeight());
-        paddle2Region = new TextureRegion(asset.getTexture(), (int) world.getPaddle2().getWidth(), (int) world.getPaddle2().getHeight());
+        ballRegion = addModelRegion(world.getBall());
+        blockRegion = asset.getModelRegion((int) Config.BLOCK, (int) Config.BLOCK);
+        paddle1Region = addModelRegion(world.getPaddle1());
+        paddle2Region = addModelRegion(world.getPaddle2());
+        createCache();
+        cacheHandle = renderBackend.addResource(cache);
+        resetWorld();
+    }
+
+    /**
+     * Recreates cached border and walls and moves scoreboard for the new world height.
+     */
+    public void resize()
+    {
+        cache.dispose();
+        createCache();
+        renderBackend.setResource(cacheHandle, cache);
         resetWorld();
     }
 
     /**
-     * Draw world and models.
+     * Adds render commands of world and models.
+     * @param commands of the frame.
      */
-    public void render()
+    public void render(RenderCommands commands)
     {
-        drawWorld();
+        drawWorld(commands);
+
+        // Models are drawn between the last two simulation steps by the time left in accumulator.
+        float alpha = world.getAlpha();
+        Array<Ball> balls = world.getBalls();
+        Paddle paddle1 = world.getPaddle1();
+        Paddle paddle2 = world.getPaddle2();
+
+        for(int i = 0; i < balls.size; i++)
+        {
+            Ball ball = balls.get(i);
+            commands.quad(ballRegion, ball.getInterpolatedX(alpha), ball.getInterpolatedY(alpha), ball.getWidth(), ball.getHeight());
+        }
 
-        batch.begin();
-        batch.draw(ballRegion, world.getBall().getX(), world.getBall().getY());
-        batch.draw(paddle1Region, world.getPaddle1().getX(), world.getPaddle1().getY());
-        batch.draw(paddle2Region, world.getPaddle2().getX(), world.getPaddle2().getY());
-        batch.end();
+        commands.quad(paddle1Region, paddle1.getInterpolatedX(alpha), paddle1.getInterpolatedY(alpha), paddle1.getWidth(), paddle1.getHeight());
+        commands.quad(paddle2Region, paddle2.getInterpolatedX(alpha), paddle2.getInterpolatedY(alpha), paddle2.getWidth(), paddle2.getHeight());
     }
 
     /**
-     * Releases renderer resources
+     * Releases renderer resources, texture regions are owned by asset atlas.
      */
     public void dispose()
     {
-        ballRegion.getTexture().dispose();
-        blockRegion.getTexture().dispose();
-        paddle1Region.getTexture().dispose();
-        paddle2Region.getTexture().dispose();
         cache.dispose();
     }
 
     /**
-     * Creates world with a border, up and down walls, and a scoreboard by using SpriteCache.
+     * Resets scoreboard digits, cached segments are not rebuilt.
      */
     public void resetWorld()
     {
-        int size = world.getBorder().size
-                + world.getWalls().size
-                + world.getPaddle1().getSize()
-                + world.getPaddle2().getSize();
+        scoreY = world.getHeight() - Config.BLOCK * 7;
+        scoreDigitCount = 0;
+        addScoreBoard(world.getPaddle1(), scorePaddle1X, true);
+        addScoreBoard(world.getPaddle2(), scorePaddle2X, false);
+    }
+
+    /**
+     * Adds texture region of model size to render backend.
+     * @param model to draw with the region.
+     * @return handle of region.
+     */
+    private int addModelRegion(Model model)
+    {
+        return renderBackend.addResource(asset.getModelRegion((int) model.getWidth(), (int) model.getHeight()));
+    }
+
+    /**
+     * Creates SpriteCache once with a segment for border and walls, and a segment for each digit at origin.
+     */
+    private void createCache()
+    {
+        arenaSize = world.getBorder().size + world.getWalls().size;
+        int size = arenaSize;
+
+        for(int digit = 0; digit < digitCacheIds.length; digit++)
+        {
+            size += Digit.getSize(Digit.getMask(digit));
+        }
+
         cache = new SpriteCache(size, false);
+        metrics.add(RenderMetrics.Counter.CACHE_REBUILDS, 1);
         cache.beginCache();
-
         addBorder();
         addWalls();
-        addScoreBoard(world.getPaddle1().scoreBoard, scorePaddle1X, true);
-        addScoreBoard(world.getPaddle2().scoreBoard, scorePaddle2X, false);
+        arenaCacheId = cache.endCache();
 
-        cacheId = cache.endCache();
+        for(int digit = 0; digit < digitCacheIds.length; digit++)
+        {
+            cache.beginCache();
+            addDigit(Digit.getMask(digit));
+            digitCacheIds[digit] = cache.endCache();
+        }
     }
 
     private void addBorder()
@@ -121,42 +187,54 @@ public class WorldRenderer
         }
     }
 
+    private void addDigit(int mask)
+    {
+        for(int x = 0; x < Digit.WIDTH; x++)
+        {
+            for(int y = 0; y < Digit.HEIGHT; y++)
+            {
+                if(Digit.isSet(mask, x, y))
+                {
+                    cache.add(blockRegion, x * Config.BLOCK, (Digit.HEIGHT - y - 1) * Config.BLOCK);
+                }
+            }
+        }
+    }
+
     /**
-     * Adds user's scoreboard to screen.
-     * @param scoreBoard contains score data.
+     * Adds digit segments and their positions of user's scoreboard.
+     * @param paddle contains score digits.
      * @param scoreX sets the base x coordinate for the user's scoreboard.
      * @param left defines the left or right scoreboard.
      */
-    private void addScoreBoard(boolean[][] scoreBoard, float scoreX, boolean left)
+    private void addScoreBoard(Paddle paddle, float scoreX, boolean left)
     {
-        int width = scoreBoard.length;
-        int height = scoreBoard[0].length;
+        int count = paddle.getDigitCount();
 
         if(left)
         {
-            scoreX = scoreX - width * Config.BLOCK;
+            scoreX = scoreX - (count * Digit.WIDTH + (count - 1) * Digit.SPACING) * Config.BLOCK;
         }
 
-        for(int x = 0; x < width; x++)
+        for(int i = 0; i < count; i++)
         {
-            for(int y = 0; y < height; y++)
-            {
-                if(scoreBoard[x][y])
-                {
-                    cache.add(blockRegion, scoreX + x * Config.BLOCK, scoreY + (height - y - 1) * Config.BLOCK);
-                }
-            }
+            scoreDigits[scoreDigitCount] = paddle.getDigit(i);
+            scoreDigitX[scoreDigitCount] = scoreX + i * (Digit.WIDTH + Digit.SPACING) * Config.BLOCK;
+            scoreDigitCount++;
         }
     }
 
     /**
-     * Draws world with SpriteCache.
+     * Adds cached border, walls and scoreboard digits.
      */
-    private void drawWorld()
+    private void drawWorld(RenderCommands commands)
     {
-        cache.setProjectionMatrix(camera.combined);
-        cache.begin();
-        cache.draw(cacheId);
-        cache.end();
+        commands.cache(cacheHandle, arenaCacheId, arenaSize, 0, 0);
+
+        for(int i = 0; i < scoreDigitCount; i++)
+        {
+            int digit = scoreDigits[i];
+            commands.cache(cacheHandle, digitCacheIds[digit], Digit.getSize(Digit.getMask(digit)), scoreDigitX[i], scoreY);
+        }
     }
 }
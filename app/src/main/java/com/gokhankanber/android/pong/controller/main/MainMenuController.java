@@ -18,16 +18,17 @@ package com.gokhankanber.android.pong.controller.main;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.math.Rectangle;
 import com.gokhankanber.android.pong.Pong;
 import com.gokhankanber.android.pong.R;
 import com.gokhankanber.android.pong.controller.BaseController;
+import com.gokhankanber.android.pong.controller.RenderScheduler;
 import com.gokhankanber.android.pong.controller.main.MainInputController.InputListener;
 import com.gokhankanber.android.pong.provider.Config;
 import com.gokhankanber.android.pong.provider.Font;
+import com.gokhankanber.android.pong.render.RenderCommands;
 import com.gokhankanber.android.pong.view.GameScreen;
 
 /**
@@ -45,13 +46,14 @@ public class MainMenuController extends BaseController
     // For drawing logo with texture
     private final int logoTextureWidth = 96;
     private final int logoTextureHeight = 48;
-    private Texture logoTexture;
+    private int logoRegion = RenderCommands.NONE;
 
     // For drawing logo text with bitmap font
     private final float logoHeight = 48.0f;
     private final int logoFontSize = 36;
     private String logo;
     private BitmapFont logoFont;
+    private int logoFontHandle;
 
     // Main menu
     private final float mainMenuItemWidth = 200.0f;
@@ -66,11 +68,11 @@ public class MainMenuController extends BaseController
 
     // For drawing main menu text with texture
     private final int menuItemFontSize = 26;
-    private Texture[] menuItemTextures;
 
     // For drawing main menu text with bitmap font
     private final int mainMenuFontSize = 26;
     private BitmapFont mainMenuFont;
+    private int mainMenuFontHandle;
 
     // For drawing logo and main menu text with bitmap font
     private Font font;
@@ -102,6 +104,9 @@ public class MainMenuController extends BaseController
 
         initLogo();
         initMainMenu();
+
+        // Static menu is rendered only on input.
+        game.getRenderScheduler().setMode(RenderScheduler.Mode.IDLE);
     }
 
     /**
@@ -122,22 +127,30 @@ public class MainMenuController extends BaseController
 
     private void initLogoWithTexture()
     {
-        logoTexture = asset.getLogoTexture();
+        if(logoRegion == RenderCommands.NONE)
+        {
+            logoRegion = addResource(asset.getLogoRegion());
+        }
+
         logoX = (Config.WIDTH - logoTextureWidth) / 2;
-        logoY = Config.getHeight() - paddingTop - logoTextureHeight;
+        logoY = viewport.getHeight() - paddingTop - logoTextureHeight;
     }
 
     private void initLogoWithFont()
     {
-        logo = game.getResources().getString(R.string.app_name);
+        if(logoFont == null)
+        {
+            logo = game.getResources().getString(R.string.app_name);
 
-        logoFont = font.create(Font.FONT)
-                .size(logoFontSize)
-                .build();
+            logoFont = font.create(Font.FONT)
+                    .size(logoFontSize)
+                    .build();
+            logoFontHandle = addResource(logoFont);
+        }
 
         glyphLayout.setText(logoFont, logo);
         logoX = (Config.WIDTH - glyphLayout.width) / 2;
-        logoY = Config.getHeight() - paddingTop - logoHeight / 2 + glyphLayout.height / 2;
+        logoY = viewport.getHeight() - paddingTop - logoHeight / 2 + glyphLayout.height / 2;
         glyphLayout.reset();
     }
 
@@ -155,7 +168,7 @@ public class MainMenuController extends BaseController
         mainMenuItemsFontX = new float[menuItemsLength];
         mainMenuItemsFontY = new float[menuItemsLength];
         mainMenuItemsBoundY = new float[menuItemsLength];
-        mainMenuHeight = Config.getHeight() - paddingTop - logoHeight;
+        mainMenuHeight = viewport.getHeight() - paddingTop - logoHeight;
 
         switch(Config.TYPE_TEXT)
         {
@@ -173,12 +186,10 @@ public class MainMenuController extends BaseController
     private void initMainMenuWithTexture(int menuItemsLength)
     {
         int i = 0;
-        menuItemTextures = new Texture[menuItemsLength];
 
         for(String item : mainMenuItems)
         {
-            menuItemTextures[i] = asset.getTexture(item);
-            mainMenuItemsFontX[i] = (Config.WIDTH - item.length() * menuItemFontSize) / 2;
+            mainMenuItemsFontX[i] = (Config.WIDTH - textRenderer.getWidth(item, menuItemFontSize)) / 2;
             mainMenuItemsBoundY[i] = (mainMenuHeight + (menuItemsLength * mainMenuItemHeight)) / 2 - (i + 1) * mainMenuItemHeight;
             mainMenuItemsFontY[i] = mainMenuItemsBoundY[i] + (mainMenuItemHeight - menuItemFontSize) / 2;
             i++;
@@ -187,11 +198,15 @@ public class MainMenuController extends BaseController
 
     private void initMainMenuWithFont(int menuItemsLength)
     {
-        mainMenuFont = font.create(Font.FONT)
-                .size(mainMenuFontSize)
-                .border(1, Color.BLACK)
-                .shadow(1, 1, Color.DARK_GRAY)
-                .build();
+        if(mainMenuFont == null)
+        {
+            mainMenuFont = font.create(Font.FONT)
+                    .size(mainMenuFontSize)
+                    .border(1, Color.BLACK)
+                    .shadow(1, 1, Color.DARK_GRAY)
+                    .build();
+            mainMenuFontHandle = addResource(mainMenuFont);
+        }
 
         for(int i = 0; i < menuItemsLength; i++)
         {
@@ -204,6 +219,16 @@ public class MainMenuController extends BaseController
         glyphLayout.reset();
     }
 
+    /**
+     * Sets logo and main menu positions for the new viewport height, fonts are kept.
+     */
+    @Override
+    protected void layout()
+    {
+        initLogo();
+        initMainMenu();
+    }
+
     @Override
     public void update(float delta)
     {
@@ -215,8 +240,6 @@ public class MainMenuController extends BaseController
         clear();
 
         // Draws logo and main menu.
-        batch.begin();
-
         switch(Config.TYPE_TEXT)
         {
             case TEXTURE:
@@ -227,19 +250,19 @@ public class MainMenuController extends BaseController
                 break;
         }
 
-        batch.end();
+        flush();
     }
 
     private void drawWithTexture()
     {
-        batch.draw(logoTexture, logoX, logoY, logoTextureWidth, logoTextureHeight);
-        batch.draw(menuItemTextures[0], mainMenuItemsFontX[0], mainMenuItemsFontY[0], mainMenuItems[0].length() * menuItemFontSize, menuItemFontSize);
+        commands.quad(logoRegion, logoX, logoY, logoTextureWidth, logoTextureHeight);
+        commands.text(mainMenuItems[0], mainMenuItemsFontX[0], mainMenuItemsFontY[0], menuItemFontSize, RenderCommands.NONE);
     }
 
     private void drawWithFont()
     {
-        logoFont.draw(batch, logo, logoX, logoY);
-        mainMenuFont.draw(batch, mainMenuItems[0], mainMenuItemsFontX[0], mainMenuItemsFontY[0]);
+        commands.text(logo, logoX, logoY, 0, logoFontHandle);
+        commands.text(mainMenuItems[0], mainMenuItemsFontX[0], mainMenuItemsFontY[0], 0, mainMenuFontHandle);
     }
 
     @Override
@@ -247,16 +270,10 @@ public class MainMenuController extends BaseController
     {
         super.release();
 
-        switch(Config.TYPE_TEXT)
+        if(Config.TYPE_TEXT == Config.TextType.FONT)
         {
-            case TEXTURE:
-                logoTexture.dispose();
-                menuItemTextures[0].dispose();
-                break;
-            case FONT:
-                logoFont.dispose();
-                mainMenuFont.dispose();
-                break;
+            logoFont.dispose();
+            mainMenuFont.dispose();
         }
     }
 
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.controller.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.gokhankanber.android.pong.controller.TextRenderer;
+import com.gokhankanber.android.pong.provider.Asset;
+import com.gokhankanber.android.pong.render.RenderCommands;
+import com.gokhankanber.android.pong.render.RenderMetrics;
+
+/**
+ * OpenGL backend for render commands.
+ * Texture regions, fonts and sprite caches are added as resources, commands refer to them by their handles.
+ * Replays commands in order with SpriteBatch, ShapeRenderer and SpriteCache.
+ * A renderer is begun only when command type changes, consecutive quads and texts are drawn in a single batch.
+ * Counts render calls, texture binds, vertices and blend enables of each frame.
+ */
+public class GLRenderBackend
+{
+    // Active renderer
+    private enum Mode
+    {
+        NONE,
+        BATCH,
+        SHAPE
+    }
+
+    // Vertices of a sprite and a filled rectangle of two triangles
+    private final int quadVertices = 4;
+    private final int rectVertices = 6;
+
+    private SpriteBatch batch;
+    private OrthographicCamera camera;
+    private TextRenderer textRenderer;
+    private ShapeRenderer shapeRenderer;
+    private final Matrix4 transform = new Matrix4();
+    private final Color color = new Color();
+    private Mode mode = Mode.NONE;
+
+    // Resources by handle
+    private final Array<Object> resources = new Array<Object>();
+
+    // Metrics
+    private final RenderMetrics metrics = new RenderMetrics();
+    private Texture lastTexture;
+    private int shapeCount;
+
+    public GLRenderBackend(SpriteBatch batch, OrthographicCamera camera, TextRenderer textRenderer)
+    {
+        this.batch = batch;
+        this.camera = camera;
+        this.textRenderer = textRenderer;
+        shapeRenderer = new ShapeRenderer();
+    }
+
+    /**
+     * Replays commands of a frame.
+     * @param commands to replay.
+     */
+    public void render(RenderCommands commands)
+    {
+        batch.setProjectionMatrix(camera.combined);
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        int size = commands.size();
+        metrics.add(RenderMetrics.Counter.COMMANDS, size);
+
+        for(int i = 0; i < size; i++)
+        {
+            switch(commands.getType(i))
+            {
+                case RenderCommands.QUAD:
+                    begin(Mode.BATCH);
+                    TextureRegion region = (TextureRegion) resources.get(commands.getResource(i));
+                    bind(region.getTexture());
+                    batch.draw(region, commands.getX(i), commands.getY(i), commands.getWidth(i), commands.getHeight(i));
+                    metrics.add(RenderMetrics.Counter.VERTICES, quadVertices);
+                    break;
+                case RenderCommands.RECT:
+                    begin(Mode.SHAPE);
+                    color.set(commands.getValue(i));
+                    shapeRenderer.setColor(color);
+                    shapeRenderer.rect(commands.getX(i), commands.getY(i), commands.getWidth(i), commands.getHeight(i));
+                    metrics.add(RenderMetrics.Counter.VERTICES, rectVertices);
+                    shapeCount++;
+                    break;
+                case RenderCommands.TEXT:
+                    begin(Mode.BATCH);
+                    drawText(commands, i);
+                    break;
+                case RenderCommands.CACHE:
+                    begin(Mode.NONE);
+                    drawCache(commands, i);
+                    break;
+            }
+        }
+
+        begin(Mode.NONE);
+        metrics.endFrame();
+    }
+
+    /**
+     * Adds a resource for render commands.
+     * @param resource is a texture region, font or sprite cache.
+     * @return handle of resource.
+     */
+    public int addResource(Object resource)
+    {
+        resources.add(resource);
+
+        return resources.size - 1;
+    }
+
+    /**
+     * Replaces a resource, for example a recreated sprite cache.
+     * @param handle of resource.
+     * @param resource is the new resource.
+     */
+    public void setResource(int handle, Object resource)
+    {
+        resources.set(handle, resource);
+    }
+
+    public RenderMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    public void dispose()
+    {
+        resources.clear();
+        shapeRenderer.dispose();
+    }
+
+    private void drawText(RenderCommands commands, int i)
+    {
+        int glyphs = 0;
+
+        if(commands.getResource(i) == RenderCommands.NONE)
+        {
+            bind(Asset.get().getAtlas());
+            glyphs = textRenderer.draw(commands.getText(i), commands.getX(i), commands.getY(i), commands.getWidth(i));
+        }
+        else
+        {
+            BitmapFont font = (BitmapFont) resources.get(commands.getResource(i));
+            bind(font.getRegion().getTexture());
+            GlyphLayout layout = font.draw(batch, commands.getText(i), commands.getX(i), commands.getY(i));
+
+            for(int run = 0; run < layout.runs.size; run++)
+            {
+                glyphs += layout.runs.get(run).glyphs.size;
+            }
+        }
+
+        metrics.add(RenderMetrics.Counter.VERTICES, glyphs * quadVertices);
+    }
+
+    /**
+     * Draws cached geometry with translation.
+     * Transform can't be changed between begin and end, so each command has its own begin and end.
+     */
+    private void drawCache(RenderCommands commands, int i)
+    {
+        SpriteCache cache = (SpriteCache) resources.get(commands.getResource(i));
+        cache.setProjectionMatrix(camera.combined);
+        cache.setTransformMatrix(transform.setToTranslation(commands.getX(i), commands.getY(i), 0));
+        cache.begin();
+        cache.draw(commands.getValue(i));
+        cache.end();
+
+        // Cache binds its texture on each draw.
+        metrics.add(RenderMetrics.Counter.RENDER_CALLS, cache.renderCalls);
+        metrics.add(RenderMetrics.Counter.TEXTURE_BINDS, 1);
+        metrics.add(RenderMetrics.Counter.VERTICES, (int) commands.getWidth(i) * quadVertices);
+    }
+
+    /**
+     * Counts a texture bind when batch draws with a different texture.
+     * @param texture of the next batch draw.
+     */
+    private void bind(Texture texture)
+    {
+        if(texture != lastTexture)
+        {
+            metrics.add(RenderMetrics.Counter.TEXTURE_BINDS, 1);
+            lastTexture = texture;
+        }
+    }
+
+    /**
+     * Ends active renderer and begins renderer of the next command if it is different.
+     * @param next is renderer of the next command.
+     */
+    private void begin(Mode next)
+    {
+        if(mode == next)
+        {
+            return;
+        }
+
+        switch(mode)
+        {
+            case BATCH:
+                batch.end();
+
+                // Batch enables blending on each flush.
+                metrics.add(RenderMetrics.Counter.RENDER_CALLS, batch.renderCalls);
+                metrics.add(RenderMetrics.Counter.BLEND_ENABLES, batch.renderCalls);
+                break;
+            case SHAPE:
+                shapeRenderer.end();
+                Gdx.gl.glDisable(GL20.GL_BLEND);
+                metrics.add(RenderMetrics.Counter.RENDER_CALLS, shapeCount > 0 ? 1 : 0);
+                break;
+        }
+
+        switch(next)
+        {
+            case BATCH:
+                batch.begin();
+                lastTexture = null;
+                break;
+            case SHAPE:
+                Gdx.gl.glEnable(GL20.GL_BLEND);
+                shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+                metrics.add(RenderMetrics.Counter.BLEND_ENABLES, 1);
+                shapeCount = 0;
+                break;
+        }
+
+        mode = next;
+    }
+}
@@ -20,12 +20,31 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.utils.IntMap;
+import com.gokhankanber.android.pong.controller.game.Policy;
+import com.gokhankanber.android.pong.model.ISound;
 
 /**
- * Provides assets: texture and sounds.
+ * Provides assets: texture atlas, sounds and cpu policy.
  */
-public class Asset
+public class Asset implements ISound
 {
+    // Atlas: model cell and logo cell at top, character cells below.
+    private final int atlasWidth = 128;
+    private final int atlasHeight = 64;
+    private final int modelCellWidth = 8;
+    private final int modelCellHeight = 32;
+    private final int logoCellX = 8;
+    private final int glyphCellY = 32;
+    private final int glyphSize = 8;
+    private final int glyphColumns = atlasWidth / glyphSize;
+    private Pixmap atlasPixmap;
+    private Texture atlas;
+    private TextureRegion logoRegion;
+    private final IntMap<TextureRegion> glyphs = new IntMap<>();
+
     private Character characters;
     private Sound buttonSound;
     private Sound hitSound;
@@ -33,6 +52,7 @@ public class Asset
     private Sound pointsSound;
     private static Asset instance;
     private com.gokhankanber.android.pong.provider.Sound sound;
+    private Policy cpuPolicy;
 
     private Asset()
     {
@@ -61,6 +81,8 @@ public class Asset
             characters = Character.get();
         }
 
+        createAtlas();
+
         switch(Config.TYPE_SOUND)
         {
             case WAVE:
@@ -85,6 +107,10 @@ public class Asset
 
     public void dispose()
     {
+        atlas.dispose();
+        atlasPixmap.dispose();
+        instance = null;
+
         switch(Config.TYPE_SOUND)
         {
             case WAVE:
@@ -105,37 +131,109 @@ public class Asset
     }
 
     /**
-     * Creates texture for game models: border, walls, ball, and paddles.
-     * @return texture.
+     * Creates atlas texture once: striped model cell, logo and character cells.
+     * Pixmap is kept to reload texture when OpenGL context is lost.
      */
-    public Texture getTexture()
+    private void createAtlas()
     {
-        Pixmap pixmap = new Pixmap(1, 2, Pixmap.Format.RGBA8888);
-        pixmap.drawPixel(0, 0, 0xffffffff);
-        pixmap.drawPixel(0, 1, 0x555555ff);
-        Texture texture = new Texture(pixmap);
-        texture.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.Repeat); // Repeats texture in vertical.
-        pixmap.dispose();
-
-        return texture;
+        atlasPixmap = new Pixmap(atlasWidth, atlasHeight, Pixmap.Format.RGBA8888);
+
+        // Model cell, white and gray rows.
+        for(int y = 0; y < modelCellHeight; y++)
+        {
+            atlasPixmap.setColor(y % 2 == 0 ? 0xffffffff : 0x555555ff);
+            atlasPixmap.drawLine(0, y, modelCellWidth - 1, y);
+        }
+
+        drawLogo(atlasPixmap, logoCellX, 0);
+        CharSequence list = characters != null ? characters.getCharacters() : "";
+
+        for(int i = 0; i < list.length(); i++)
+        {
+            drawCharacter(atlasPixmap, list.charAt(i), glyphX(i), glyphY(i));
+        }
+
+        atlas = new Texture(new PixmapTextureData(atlasPixmap, null, false, false, true));
+        logoRegion = new TextureRegion(atlas, logoCellX, 0, 32, 16);
+
+        for(int i = 0; i < list.length(); i++)
+        {
+            glyphs.put(list.charAt(i), new TextureRegion(atlas, glyphX(i), glyphY(i), glyphSize, glyphSize));
+        }
+    }
+
+    private int glyphX(int index)
+    {
+        return (index % glyphColumns) * glyphSize;
+    }
+
+    private int glyphY(int index)
+    {
+        return glyphCellY + (index / glyphColumns) * glyphSize;
     }
 
     /**
-     * Creates logo texture: PONG.
-     * @return texture.
+     * @param width of model, up to 8.
+     * @param height of model, up to 32.
+     * @return texture region for game models: border, walls, ball, and paddles.
      */
-    public Texture getLogoTexture()
+    public TextureRegion getModelRegion(int width, int height)
+    {
+        return new TextureRegion(atlas, 0, 0, width, height);
+    }
+
+    /**
+     * @return atlas texture of models, logo and characters.
+     */
+    public Texture getAtlas()
+    {
+        return atlas;
+    }
+
+    /**
+     * @return logo texture region: PONG.
+     */
+    public TextureRegion getLogoRegion()
+    {
+        return logoRegion;
+    }
+
+    /**
+     * Loads cpu policy once.
+     * @return policy of {@link Config#CPU_POLICY_FILE} asset.
+     */
+    public Policy getCpuPolicy()
+    {
+        if(cpuPolicy == null)
+        {
+            cpuPolicy = Policy.load(Gdx.files.internal(Config.CPU_POLICY_FILE));
+        }
+
+        return cpuPolicy;
+    }
+
+    /**
+     * @param character to get region.
+     * @return texture region of character or null if character has no pixel data.
+     */
+    public TextureRegion getGlyph(char character)
+    {
+        return glyphs.get(character);
+    }
+
+    /**
+     * Draws logo to atlas.
+     * @param pixmap to draw pixels.
+     * @param x is left of logo cell.
+     * @param y is top of logo cell.
+     */
+    private void drawLogo(Pixmap pixmap, int x, int y)
     {
         int[] whitePixels = {0, 0, 0, 2122219134, 0, 1717986912, 0, 2120640110, 0, 1617323622, 0, 1618896510, 0, 0, 0, 0};
         int[] grayPixels = {0, 0, 0, 0, 2122219134, 0, 1717986912, 0, 2120640110, 0, 1617323622, 0, 1618896510, 0, 0, 0};
 
-        Pixmap pixmap = new Pixmap(32, 16, Pixmap.Format.RGBA8888);
-        drawPixels(pixmap, whitePixels, 0xffffffff);
-        drawPixels(pixmap, grayPixels, 0x555555ff);
-        Texture texture = new Texture(pixmap);
-        pixmap.dispose();
-
-        return texture;
+        drawPixels(pixmap, whitePixels, 0xffffffff, x, y);
+        drawPixels(pixmap, grayPixels, 0x555555ff, x, y);
     }
 
     /**
@@ -143,73 +241,50 @@ public class Asset
      * @param pixmap to draw pixels.
      * @param numbers are pixel data.
      * @param color is pixel color.
+     * @param x is left of logo cell.
+     * @param y is top of logo cell.
      */
-    private void drawPixels(Pixmap pixmap, int[] numbers, int color)
+    private void drawPixels(Pixmap pixmap, int[] numbers, int color, int x, int y)
     {
         int length = numbers.length;
 
-        for(int y = 0; y < length; y++)
+        for(int row = 0; row < length; row++)
         {
             for(int i = 31; i >= 0; i--)
             {
-                if(((numbers[y] >> i) & 1) == 1)
+                if(((numbers[row] >> i) & 1) == 1)
                 {
-                    pixmap.drawPixel((31 - i), y, color);
+                    pixmap.drawPixel(x + 31 - i, y + row, color);
                 }
             }
         }
     }
 
     /**
-     * Creates texture for specified text (menu items).
-     * @param text for texture content.
-     * @return texture.
-     */
-    public Texture getTexture(String text)
-    {
-        if(text == null)
-        {
-            text = "";
-        }
-
-        Pixmap pixmap = new Pixmap(text.length() * 8, 8, Pixmap.Format.RGBA8888);
-        drawText(pixmap, text);
-        Texture texture = new Texture(pixmap);
-        pixmap.dispose();
-
-        return texture;
-    }
-
-    /**
-     * Draws pixels of characters of specified text.
+     * Draws pixels of a character.
      * @param pixmap to draw pixels.
-     * @param text data.
+     * @param character to draw.
+     * @param x is left of character cell.
+     * @param y is top of character cell.
      */
-    private void drawText(Pixmap pixmap, String text)
+    private void drawCharacter(Pixmap pixmap, char character, int x, int y)
     {
-        int index = 0;
+        byte[] bytes = characters.getBytes(character);
 
-        for(char character : text.toCharArray())
+        if(bytes != null)
         {
-            byte[] bytes = characters.getBytes(character);
+            int length = bytes.length;
 
-            if(bytes != null)
+            for(int row = 0; row < length; row++)
             {
-                int length = bytes.length;
-
-                for(int y = 0; y < length; y++)
+                for(int i = 7; i >= 0; i--)
                 {
-                    for(int i = 7; i >= 0; i--)
+                    if(((bytes[row] >> i) & 1) == 1)
                     {
-                        if(((bytes[y] >> i) & 1) == 1)
-                        {
-                            pixmap.drawPixel(index * 8 + (7 - i), y, 0xffffffff);
-                        }
+                        pixmap.drawPixel(x + 7 - i, y + row, 0xffffffff);
                     }
                 }
             }
-
-            index++;
         }
     }
 
@@ -226,6 +301,7 @@ public class Asset
         }
     }
 
+    @Override
     public void playHit()
     {
         switch(Config.TYPE_SOUND)
@@ -239,6 +315,7 @@ public class Asset
         }
     }
 
+    @Override
     public void playHitWall()
     {
         switch(Config.TYPE_SOUND)
@@ -252,6 +329,7 @@ public class Asset
         }
     }
 
+    @Override
     public void playPoints()
     {
         switch(Config.TYPE_SOUND)
@@ -80,11 +80,13 @@ public class Character
     private byte[] charAmpersand = {0, 32, 80, 80, 32, 84, 72, 52};
     private byte[] charHash = {0, 0, 40, 124, 40, 124, 40, 0};
     private Map<Short, byte[]> cMap;
+    private StringBuilder characters;
     private static Character instance;
 
     private Character()
     {
         cMap = new HashMap<>();
+        characters = new StringBuilder();
     }
 
     public static Character get()
@@ -161,6 +163,15 @@ public class Character
     private void put(char character, byte[] bytes)
     {
         cMap.put((short) character, bytes);
+        characters.append(character);
+    }
+
+    /**
+     * @return all characters which have pixel data.
+     */
+    public CharSequence getCharacters()
+    {
+        return characters;
     }
 
     public byte[] getBytes(char character)
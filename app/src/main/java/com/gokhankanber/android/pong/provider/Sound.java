@@ -20,6 +20,13 @@ import android.media.AudioFormat;
 import android.media.AudioManager;
 import android.media.AudioTrack;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Synthesized sound tracks.
+ * Tracks are resampled from a wavetable of one sine period on a background thread.
+ * A track can be played as soon as it is created, tracks which are not ready yet are not played.
+ */
 public class Sound
 {
     public enum Track
@@ -56,7 +63,20 @@ public class Sound
         }
     }
 
-    private AudioTrack[] audioTracks;
+    private static final int sampleRate = 44100;
+    private static final float amplitude = 100;
+
+    // Wavetable of one sine period, size is a power of two for wrapping phase with a mask
+    private static final int tableBits = 10;
+    private static final int tableSize = 1 << tableBits;
+    private static final int tableMask = tableSize - 1;
+
+    // Fixed point phase: table index in high bits, fraction in low bits
+    private static final int fractionBits = 16;
+    private static final int fractionMask = (1 << fractionBits) - 1;
+
+    private AtomicReferenceArray<AudioTrack> audioTracks;
+    private boolean released = false;
     private static Sound instance;
 
     private Sound()
@@ -74,25 +94,91 @@ public class Sound
         return instance;
     }
 
+    /**
+     * Starts creating tracks on a background thread, so the first frame is not blocked.
+     */
     public void init()
     {
-        Track[] trackList = Track.values();
-        audioTracks = new AudioTrack[trackList.length];
+        final Track[] trackList = Track.values();
+        audioTracks = new AtomicReferenceArray<>(trackList.length);
+
+        Thread thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                float[] table = createTable();
+
+                for(Track track : trackList)
+                {
+                    if(!publish(track.index, create(table, track.frequency, track.duration)))
+                    {
+                        return;
+                    }
+                }
+            }
+        }, "Sound");
+
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return one sine period.
+     */
+    private static float[] createTable()
+    {
+        float[] table = new float[tableSize + 1];
 
-        for(Track track : trackList)
+        for(int i = 0; i < tableSize; i++)
         {
-            audioTracks[track.index] = create(track.frequency, track.duration);
+            table[i] = (float) Math.sin(2 * Math.PI * i / tableSize);
         }
+
+        // Guard sample for interpolation of the last index.
+        table[tableSize] = table[0];
+
+        return table;
     }
 
-    private AudioTrack create(float frequency, float duration)
+    /**
+     * Makes a created track playable, or releases it if sounds are released meanwhile.
+     * @return false if sounds are released.
+     */
+    private synchronized boolean publish(int index, AudioTrack track)
+    {
+        if(released)
+        {
+            track.release();
+
+            return false;
+        }
+
+        audioTracks.set(index, track);
+
+        return true;
+    }
+
+    /**
+     * Creates track by resampling the wavetable with a fixed point phase and linear interpolation.
+     * @param table is one sine period.
+     * @param frequency of track.
+     * @param duration of track in seconds.
+     * @return static audio track.
+     */
+    private AudioTrack create(float[] table, float frequency, float duration)
     {
-        int sampleRate = 44100;
         byte[] bytes = new byte[(int) (sampleRate * duration)];
+        int step = (int) ((double) frequency * tableSize / sampleRate * (1 << fractionBits));
+        int phase = 0;
 
         for(int i = 0; i < bytes.length; i++)
         {
-            bytes[i] = (byte) (Math.sin(2 * Math.PI * i / (sampleRate / frequency)) * 100);
+            int index = (phase >>> fractionBits) & tableMask;
+            float fraction = (phase & fractionMask) / (float) (1 << fractionBits);
+            float sample = table[index] + (table[index + 1] - table[index]) * fraction;
+            bytes[i] = (byte) (sample * amplitude);
+            phase += step;
         }
 
         AudioTrack track = new AudioTrack(AudioManager.STREAM_MUSIC,
@@ -109,19 +195,39 @@ public class Sound
 
     public void play(int index)
     {
-        if(audioTracks[index].getPlayState() == AudioTrack.PLAYSTATE_PLAYING)
+        AudioTrack audioTrack = audioTracks.get(index);
+
+        if(audioTrack == null)
         {
-            audioTracks[index].stop();
+            // Track is not created yet.
+            return;
         }
 
-        audioTracks[index].play();
+        if(audioTrack.getPlayState() == AudioTrack.PLAYSTATE_PLAYING)
+        {
+            audioTrack.stop();
+        }
+
+        audioTrack.play();
     }
 
-    public void releaseAll()
+    /**
+     * Releases created tracks, tracks created after this call are released by the background thread.
+     */
+    public synchronized void releaseAll()
     {
-        for(AudioTrack audioTrack : audioTracks)
+        released = true;
+
+        for(int i = 0; i < audioTracks.length(); i++)
         {
-            audioTrack.release();
+            AudioTrack audioTrack = audioTracks.getAndSet(i, null);
+
+            if(audioTrack != null)
+            {
+                audioTrack.release();
+            }
         }
+
+        instance = null;
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.provider;
+
+/**
+ * Provides world dimensions for the screen aspect ratio.
+ * Dimensions are computed once and recomputed only when screen size changes.
+ */
+public class Viewport
+{
+    private int screenWidth;
+    private int screenHeight;
+    private float height;
+
+    public Viewport(int screenWidth, int screenHeight)
+    {
+        update(screenWidth, screenHeight);
+    }
+
+    /**
+     * Recomputes world height for a new screen size.
+     * @param screenWidth in pixels.
+     * @param screenHeight in pixels.
+     * @return true if dimensions are changed.
+     */
+    public boolean update(int screenWidth, int screenHeight)
+    {
+        // Ignore empty sizes of a hidden surface.
+        if(screenWidth <= 0 || screenHeight <= 0
+                || (screenWidth == this.screenWidth && screenHeight == this.screenHeight))
+        {
+            return false;
+        }
+
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        float ratio = (float) screenHeight / screenWidth;
+        height = Config.WIDTH * ratio;
+
+        return true;
+    }
+
+    public float getWidth()
+    {
+        return Config.WIDTH;
+    }
+
+    public float getHeight()
+    {
+        return height;
+    }
+
+    public int getScreenWidth()
+    {
+        return screenWidth;
+    }
+
+    public int getScreenHeight()
+    {
+        return screenHeight;
+    }
+}
@@ -50,6 +50,7 @@ public abstract class BaseScreen implements Screen
     @Override
     public void resize(int width, int height)
     {
+        controller.resize();
     }
 
     @Override
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+import com.gokhankanber.android.pong.provider.Config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ball movement with swept collision and discrete collision check against paddles and walls.
+ * Paddles are moved by world steps, so the ball keeps rallying between cpu paddles.
+ * Collision check places the ball into paddle 2 before each call, so the overlap is resolved every time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BallBenchmark
+{
+    @Param({"0", "10", "60"})
+    public float stateTime;
+
+    private World world;
+    private Ball ball;
+
+    @Setup
+    public void setup()
+    {
+        world = BenchmarkWorld.create(1);
+        ball = world.getBall();
+        ball.store.velocityX[ball.id] = 1;
+    }
+
+    @Benchmark
+    public Ball update()
+    {
+        BenchmarkWorld.prepare(world, stateTime);
+        world.getPaddle1().update(Config.STEP_TIME);
+        world.getPaddle2().update(Config.STEP_TIME);
+        ball.update(Config.STEP_TIME);
+
+        return ball;
+    }
+
+    @Benchmark
+    public Ball checkCollision()
+    {
+        Paddle paddle = world.getPaddle2();
+        ball.setPosition(paddle.getX() - ball.getWidth() / 2, paddle.getY() + paddle.getHeight() / 2);
+        ball.checkCollision();
+
+        return ball;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Cpu vs cpu world for benchmarks.
+ * Balls are kept at the same speed by setting their state time before each operation.
+ */
+class BenchmarkWorld
+{
+    /**
+     * Creates a resumed cpu vs cpu world.
+     * @param ballCount is number of balls.
+     * @return new world.
+     */
+    static World create(int ballCount)
+    {
+        World world = HeadlessWorld.create(1, ballCount);
+        HeadlessWorld.start(world);
+
+        return world;
+    }
+
+    /**
+     * Sets state time of balls and starts a new game when a game ends.
+     * @param world to prepare.
+     * @param stateTime is state time of balls, ball speed increases with state time.
+     */
+    static void prepare(World world, float stateTime)
+    {
+        if(world.isEnding())
+        {
+            HeadlessWorld.start(world);
+        }
+
+        Array<Ball> balls = world.getBalls();
+
+        for(int i = 0; i < balls.size; i++)
+        {
+            balls.get(i).setStateTime(stateTime);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.gokhankanber.android.pong.controller.game.Cpu;
+import com.gokhankanber.android.pong.controller.game.ICpu;
+import com.gokhankanber.android.pong.controller.game.Policy;
+import com.gokhankanber.android.pong.controller.game.PolicyCpu;
+import com.gokhankanber.android.pong.controller.game.PredictiveCpu;
+import com.gokhankanber.android.pong.provider.Config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frame cost of world with a cpu of each type on paddle 2, target selection scans all balls.
+ * Chase cpu compares paddle and ball on each step, predictive cpu recalculates its intercept after each bounce,
+ * policy cpu looks up a trained action table, written by the trainPolicy task of simulation module.
+ * Policy cpu is not in the default run as the table is not in the repository: -p cpuType=POLICY -p policyFile=file.
+ * World is stepped on each call with balls at the same speed, so cpus follow rallies as in a game.
+ * Paddle 1 has a chase cpu, {@link WorldBenchmark} is the reference with chase cpus on both paddles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpuBenchmark
+{
+    @Param({"1", "16", "200"})
+    public int ballCount;
+
+    @Param({"CHASE", "PREDICTIVE"})
+    public Config.CpuType cpuType;
+
+    @Param({"10"})
+    public float stateTime;
+
+    // Trained policy, relative to benchmarks directory
+    @Param({"../app/assets/" + Config.CPU_POLICY_FILE})
+    public String policyFile;
+
+    private World world;
+
+    @Setup
+    public void setup()
+    {
+        world = BenchmarkWorld.create(ballCount);
+        Paddle paddle = world.getPaddle2();
+        ICpu cpu;
+
+        switch(cpuType)
+        {
+            case PREDICTIVE:
+                cpu = new PredictiveCpu(paddle);
+                break;
+            case POLICY:
+                File file = new File(policyFile);
+
+                if(!file.exists())
+                {
+                    throw new IllegalStateException("Policy file not found: " + file.getAbsolutePath()
+                            + ", run gradlew :simulation:trainPolicy first");
+                }
+
+                cpu = new PolicyCpu(paddle, Policy.load(new FileHandle(file)), Config.CPU_POLICY_SPEED);
+                break;
+            default:
+                cpu = new Cpu(paddle);
+                break;
+        }
+
+        paddle.setCpu(cpu);
+    }
+
+    @Benchmark
+    public World update()
+    {
+        BenchmarkWorld.prepare(world, stateTime);
+        world.update(Config.STEP_TIME);
+
+        return world;
+    }
+}
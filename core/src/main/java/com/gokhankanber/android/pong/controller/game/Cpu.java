@@ -0,0 +1,168 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.controller.game;
+
+import com.gokhankanber.android.pong.model.Ball;
+import com.gokhankanber.android.pong.model.Hash;
+import com.gokhankanber.android.pong.model.IWorld;
+import com.gokhankanber.android.pong.model.Paddle;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cpu class for cpu {@link Paddle}.
+ * Moves cpu paddle with the same acceleration of ball.
+ * Generates a random value with min and max limits to calculate velocity of paddle when ball is moving to the paddle.
+ * Random values are taken from the seeded random generator of world.
+ */
+public class Cpu implements ICpu
+{
+    public static final int SNAPSHOT_SIZE = 1 + 4;
+
+    private Paddle paddle;
+    private IWorld iWorld;
+
+    // Direction of ball moving to the paddle: 1 for right paddle, -1 for left paddle
+    private final int direction;
+
+    // Random velocity and its limits
+    private boolean randomGenerated = false;
+    private int randomVelocityValue = 1;
+    private final int minRandomValue;
+    private final int maxRandomValue;
+
+    /**
+     * Creates cpu with random value limits of world rules.
+     * @param paddle is cpu paddle.
+     */
+    public Cpu(Paddle paddle)
+    {
+        this(paddle, paddle.getListener().getRules().getCpuMinRandomValue(), paddle.getListener().getRules().getCpuMaxRandomValue());
+    }
+
+    /**
+     * @param paddle is cpu paddle.
+     * @param minRandomValue is min limit of random velocity value.
+     * @param maxRandomValue is max limit of random velocity value.
+     */
+    public Cpu(Paddle paddle, int minRandomValue, int maxRandomValue)
+    {
+        this.paddle = paddle;
+        this.minRandomValue = minRandomValue;
+        this.maxRandomValue = maxRandomValue;
+        iWorld = paddle.getListener();
+        direction = paddle.getDirection();
+    }
+
+    /**
+     * Simulates movement of cpu paddle.
+     * @param delta is time span between the current and the last frame in seconds.
+     */
+    @Override
+    public void move(float delta)
+    {
+        Ball ball = paddle.getTargetBall();
+
+        if(ball.getVelocityX() * direction > 0)
+        {
+            // Ball is moving to paddle.
+            if(ball.getVelocityY() > 0
+                    && (paddle.getY() + paddle.getHeight()) / 2 <
+                    (ball.getY() + ball.getHeight()) / 2)
+            {
+                // Ball is moving up and paddle should move up.
+                paddle.setAccelerationY(ball.getAccelerationY());
+            }
+            else if(ball.getVelocityY() < 0
+                    && (paddle.getY() + paddle.getHeight()) / 2 >
+                    (ball.getY() + ball.getHeight()) / 2)
+            {
+                // Ball is moving down and paddle should move down.
+                paddle.setAccelerationY(ball.getAccelerationY());
+            }
+            else
+            {
+                paddle.setAccelerationY(0);
+            }
+
+            paddle.setVelocityY(paddle.getAccelerationY() * delta);
+            randomVelocity();
+            paddle.setPositionY(paddle.getY() + paddle.getVelocityY());
+
+            paddle.checkWorld();
+        }
+        else
+        {
+            // Ball is moving away from paddle, reset random number generation state.
+            randomGenerated = false;
+        }
+    }
+
+    /**
+     * Generates a random number between min and max values to simulate velocity changes for cpu paddle.
+     */
+    private void randomVelocity()
+    {
+        if(!randomGenerated)
+        {
+            randomVelocityValue = iWorld.getRandom().nextInt(maxRandomValue - minRandomValue + 1) + minRandomValue;
+            randomGenerated = true;
+        }
+
+        paddle.setVelocityY(paddle.getVelocityY() * randomVelocityValue);
+    }
+
+    /**
+     * Resets paddle movement and random velocity state.
+     */
+    @Override
+    public void reset()
+    {
+        randomGenerated = false;
+        randomVelocityValue = 1;
+        paddle.setAccelerationY(0);
+        paddle.setVelocityY(0);
+    }
+
+    @Override
+    public int getSnapshotSize()
+    {
+        return SNAPSHOT_SIZE;
+    }
+
+    @Override
+    public void save(ByteBuffer buffer)
+    {
+        buffer.put((byte) (randomGenerated ? 1 : 0));
+        buffer.putInt(randomVelocityValue);
+    }
+
+    @Override
+    public void restore(ByteBuffer buffer)
+    {
+        randomGenerated = buffer.get() != 0;
+        randomVelocityValue = buffer.getInt();
+    }
+
+    @Override
+    public long hash(long hash)
+    {
+        hash = Hash.mix(hash, randomGenerated);
+
+        return Hash.mix(hash, randomVelocityValue);
+    }
+}
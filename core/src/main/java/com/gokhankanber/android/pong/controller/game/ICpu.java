@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.controller.game;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cpu interface for cpu {@link com.gokhankanber.android.pong.model.Paddle}.
+ * Cpu state is part of world snapshots and hashes, so it should be deterministic.
+ */
+public interface ICpu
+{
+    /**
+     * Simulates movement of cpu paddle.
+     * @param delta is time step in seconds.
+     */
+    void move(float delta);
+
+    /**
+     * Resets cpu state for a new game.
+     */
+    void reset();
+
+    /**
+     * @return size of cpu state in bytes.
+     */
+    int getSnapshotSize();
+
+    void save(ByteBuffer buffer);
+
+    void restore(ByteBuffer buffer);
+
+    /**
+     * Adds cpu state to hash.
+     * @param hash is current hash value.
+     * @return new hash value.
+     */
+    long hash(long hash);
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.controller.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.gokhankanber.android.pong.model.Ball;
+import com.gokhankanber.android.pong.model.IWorld;
+import com.gokhankanber.android.pong.model.Paddle;
+import com.gokhankanber.android.pong.provider.Config;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Quantized lookup table of cpu paddle actions.
+ * State is ball distance to paddle, ball y, ball directions, ball speed and paddle y, each quantized into a few buckets.
+ * Action of a state is -1 to move down, 0 to stay and 1 to move up.
+ *
+ * Binary format: magic, version, number of states and an action byte for each state.
+ */
+public class Policy
+{
+    public static final int MAGIC = 0x504F4C49;
+    public static final int VERSION = 1;
+    private static final int headerSize = 4 + 4 + 4;
+
+    // Buckets of state values
+    public static final int DISTANCE_BUCKETS = 8;
+    public static final int BALL_Y_BUCKETS = 16;
+    public static final int DIRECTION_BUCKETS = 2;
+    public static final int SPEED_BUCKETS = 4;
+    public static final int PADDLE_Y_BUCKETS = 16;
+    public static final int STATES = DISTANCE_BUCKETS * BALL_Y_BUCKETS * DIRECTION_BUCKETS * DIRECTION_BUCKETS
+            * SPEED_BUCKETS * PADDLE_Y_BUCKETS;
+
+    // Ball state time of a speed bucket, ball speed increases with state time
+    private static final float speedBucketTime = 10;
+
+    private final byte[] actions;
+
+    /**
+     * Creates a policy which stays in all states.
+     */
+    public Policy()
+    {
+        this(new byte[STATES]);
+    }
+
+    /**
+     * @param actions is action of each state.
+     */
+    public Policy(byte[] actions)
+    {
+        if(actions.length != STATES)
+        {
+            throw new GdxRuntimeException("Policy should have " + STATES + " states: " + actions.length);
+        }
+
+        this.actions = actions;
+    }
+
+    /**
+     * Loads policy with a single bulk read of the file.
+     * @param file is policy file.
+     * @return loaded policy.
+     */
+    public static Policy load(FileHandle file)
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(file.readBytes());
+
+        if(buffer.remaining() < headerSize || buffer.getInt() != MAGIC)
+        {
+            throw new GdxRuntimeException("Not a policy file: " + file);
+        }
+
+        int version = buffer.getInt();
+
+        if(version != VERSION)
+        {
+            throw new GdxRuntimeException("Unsupported policy version: " + version);
+        }
+
+        int states = buffer.getInt();
+
+        if(states != STATES || buffer.remaining() != STATES)
+        {
+            throw new GdxRuntimeException("Policy of different states: " + file);
+        }
+
+        byte[] actions = new byte[STATES];
+        buffer.get(actions);
+
+        return new Policy(actions);
+    }
+
+    /**
+     * Writes policy with a single write.
+     * @param file is policy file.
+     */
+    public void save(FileHandle file)
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(headerSize + STATES);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(STATES);
+        buffer.put(actions);
+        file.writeBytes(buffer.array(), false);
+    }
+
+    /**
+     * Calculates state index of paddle and target ball.
+     * @param iWorld contains world height and rules.
+     * @param paddle is cpu paddle.
+     * @param ball is target ball.
+     * @param direction is 1 for right paddle, -1 for left paddle.
+     * @return state index.
+     */
+    public static int index(IWorld iWorld, Paddle paddle, Ball ball, int direction)
+    {
+        float height = iWorld.getHeight();
+        int distance = bucket((paddle.getX() - ball.getX()) * direction, Config.WIDTH, DISTANCE_BUCKETS);
+        int ballY = bucket(ball.getY() + ball.getHeight() / 2, height, BALL_Y_BUCKETS);
+        int directionX = ball.getAccelerationX() * direction > 0 ? 1 : 0;
+        int directionY = ball.getAccelerationY() > 0 ? 1 : 0;
+        int speed = Math.min(SPEED_BUCKETS - 1, (int) (ball.getStateTime() / speedBucketTime));
+        int paddleY = bucket(paddle.getY() + paddle.getHeight() / 2, height, PADDLE_Y_BUCKETS);
+
+        return ((((distance * BALL_Y_BUCKETS + ballY) * DIRECTION_BUCKETS + directionX) * DIRECTION_BUCKETS + directionY)
+                * SPEED_BUCKETS + speed) * PADDLE_Y_BUCKETS + paddleY;
+    }
+
+    private static int bucket(float value, float size, int buckets)
+    {
+        int bucket = (int) (value / size * buckets);
+
+        return bucket < 0 ? 0 : bucket >= buckets ? buckets - 1 : bucket;
+    }
+
+    public int getAction(int state)
+    {
+        return actions[state];
+    }
+
+    public void setAction(int state, int action)
+    {
+        actions[state] = (byte) action;
+    }
+}
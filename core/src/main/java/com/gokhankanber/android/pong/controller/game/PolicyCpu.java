@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.controller.game;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.gokhankanber.android.pong.model.IWorld;
+import com.gokhankanber.android.pong.model.Paddle;
+import com.gokhankanber.android.pong.provider.Config;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Policy cpu class for cpu {@link Paddle}.
+ * Action of each step is a single lookup into an offline trained {@link Policy} table.
+ * It has no state of its own, so it does not add to snapshots and hashes.
+ */
+public class PolicyCpu implements ICpu
+{
+    private Paddle paddle;
+    private IWorld iWorld;
+    private final Policy policy;
+
+    // Direction of ball moving to the paddle: 1 for right paddle, -1 for left paddle
+    private final int direction;
+
+    // Paddle speed by ratio of ball acceleration
+    private final float speed;
+
+    /**
+     * Creates cpu with the policy of world rules.
+     * @param paddle is cpu paddle.
+     */
+    public PolicyCpu(Paddle paddle)
+    {
+        this(paddle, paddle.getListener().getRules().getCpuPolicy(), Config.CPU_POLICY_SPEED);
+    }
+
+    /**
+     * @param paddle is cpu paddle.
+     * @param policy is action table, it can be shared by cpus.
+     * @param speed is paddle speed by ratio of ball acceleration.
+     */
+    public PolicyCpu(Paddle paddle, Policy policy, float speed)
+    {
+        if(policy == null)
+        {
+            throw new GdxRuntimeException("No cpu policy");
+        }
+
+        this.paddle = paddle;
+        this.policy = policy;
+        this.speed = speed;
+        iWorld = paddle.getListener();
+        direction = paddle.getDirection();
+    }
+
+    @Override
+    public void move(float delta)
+    {
+        int action = policy.getAction(Policy.index(iWorld, paddle, paddle.getTargetBall(), direction));
+        float distance = action * iWorld.getRules().getBallAcceleration() * speed * delta;
+        paddle.setVelocityY(distance);
+        paddle.setPositionY(paddle.getY() + distance);
+        paddle.checkWorld();
+    }
+
+    @Override
+    public void reset()
+    {
+        paddle.setAccelerationY(0);
+        paddle.setVelocityY(0);
+    }
+
+    @Override
+    public int getSnapshotSize()
+    {
+        return 0;
+    }
+
+    @Override
+    public void save(ByteBuffer buffer)
+    {
+    }
+
+    @Override
+    public void restore(ByteBuffer buffer)
+    {
+    }
+
+    @Override
+    public long hash(long hash)
+    {
+        return hash;
+    }
+}
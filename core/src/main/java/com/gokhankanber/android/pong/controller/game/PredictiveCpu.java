@@ -0,0 +1,216 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.controller.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.gokhankanber.android.pong.model.Ball;
+import com.gokhankanber.android.pong.model.Block;
+import com.gokhankanber.android.pong.model.Hash;
+import com.gokhankanber.android.pong.model.IWorld;
+import com.gokhankanber.android.pong.model.Paddle;
+import com.gokhankanber.android.pong.provider.Config;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Predictive cpu class for cpu {@link Paddle}.
+ * Calculates where the ball crosses the paddle, reflections off the walls are folded analytically.
+ * Intercept is cached until the ball changes direction or is reset, then paddle is steered to it.
+ * A random error is added to each intercept, random values are taken from the seeded random generator of world.
+ */
+public class PredictiveCpu implements ICpu
+{
+    public static final int SNAPSHOT_SIZE = 4 + 1 + 1 + 4 + 4;
+
+    // Resolution of random error
+    private static final int errorSteps = 1 << 16;
+
+    private Paddle paddle;
+    private IWorld iWorld;
+
+    // Direction of ball moving to the paddle: 1 for right paddle, -1 for left paddle
+    private final int direction;
+
+    // Maximum error of intercept and paddle speed by ratio of ball acceleration
+    private final float error;
+    private final float speed;
+
+    // Cached intercept: target ball, its directions and state time when the intercept is calculated
+    private int targetId = -1;
+    private byte directionX;
+    private byte directionY;
+    private float targetStateTime;
+    private float intercept;
+
+    public PredictiveCpu(Paddle paddle)
+    {
+        this(paddle, Config.CPU_PREDICTION_ERROR, Config.CPU_PREDICTION_SPEED);
+    }
+
+    /**
+     * @param paddle is cpu paddle.
+     * @param error is maximum distance between the intercept and paddle center target.
+     * @param speed is paddle speed by ratio of ball acceleration.
+     */
+    public PredictiveCpu(Paddle paddle, float error, float speed)
+    {
+        this.paddle = paddle;
+        this.error = error;
+        this.speed = speed;
+        iWorld = paddle.getListener();
+        direction = paddle.getDirection();
+    }
+
+    @Override
+    public void move(float delta)
+    {
+        Ball ball = paddle.getTargetBall();
+
+        if(ball.getAccelerationX() * direction <= 0)
+        {
+            // Ball is moving away from paddle.
+            return;
+        }
+
+        byte ballDirectionX = (byte) Math.signum(ball.getAccelerationX());
+        byte ballDirectionY = (byte) Math.signum(ball.getAccelerationY());
+
+        if(ball.getId() != targetId || ballDirectionX != directionX || ballDirectionY != directionY
+                || ball.getStateTime() < targetStateTime)
+        {
+            // Ball has a new direction after a collision or it is reset.
+            targetId = ball.getId();
+            directionX = ballDirectionX;
+            directionY = ballDirectionY;
+            targetStateTime = ball.getStateTime();
+            intercept = predict(ball) + randomError();
+        }
+
+        // Steer paddle center to intercept with limited speed.
+        float maxDistance = iWorld.getRules().getBallAcceleration() * speed * delta;
+        float distance = intercept - (paddle.getY() + paddle.getHeight() / 2);
+        distance = Math.max(-maxDistance, Math.min(maxDistance, distance));
+        paddle.setVelocityY(distance);
+        paddle.setPositionY(paddle.getY() + distance);
+        paddle.checkWorld();
+    }
+
+    /**
+     * Calculates y coordinate of ball center where ball reaches the paddle.
+     * Movement in y coordinate is unfolded, then folded into the space between walls.
+     * @param ball is target ball.
+     * @return y coordinate of ball center.
+     */
+    private float predict(Ball ball)
+    {
+        // Ball x coordinate at the paddle side
+        float x = direction > 0 ? paddle.getX() - ball.getWidth() : paddle.getX() + paddle.getWidth();
+        float slope = Math.abs(ball.getAccelerationY() / ball.getAccelerationX());
+        float y = ball.getY() + (x - ball.getX()) * direction * slope * directionY;
+
+        // Space of ball y coordinate between walls
+        float bottom = 0;
+        float top = iWorld.getHeight() - ball.getHeight();
+        Array<Block> walls = iWorld.getWalls();
+
+        for(int i = 0; i < walls.size; i++)
+        {
+            Block wall = walls.get(i);
+
+            if(wall.getY() < iWorld.getHeight() / 2)
+            {
+                bottom = Math.max(bottom, wall.getY() + wall.getHeight());
+            }
+            else
+            {
+                top = Math.min(top, wall.getY() - ball.getHeight());
+            }
+        }
+
+        float range = top - bottom;
+
+        if(range > 0)
+        {
+            float position = (y - bottom) % (2 * range);
+
+            if(position < 0)
+            {
+                position += 2 * range;
+            }
+
+            y = bottom + (position <= range ? position : 2 * range - position);
+        }
+
+        return y + ball.getHeight() / 2;
+    }
+
+    /**
+     * @return random value between negative and positive error.
+     */
+    private float randomError()
+    {
+        return (iWorld.getRandom().nextInt(errorSteps + 1) / (float) errorSteps * 2 - 1) * error;
+    }
+
+    @Override
+    public void reset()
+    {
+        targetId = -1;
+        directionX = 0;
+        directionY = 0;
+        targetStateTime = 0;
+        intercept = 0;
+        paddle.setAccelerationY(0);
+        paddle.setVelocityY(0);
+    }
+
+    @Override
+    public int getSnapshotSize()
+    {
+        return SNAPSHOT_SIZE;
+    }
+
+    @Override
+    public void save(ByteBuffer buffer)
+    {
+        buffer.putInt(targetId);
+        buffer.put(directionX);
+        buffer.put(directionY);
+        buffer.putFloat(targetStateTime);
+        buffer.putFloat(intercept);
+    }
+
+    @Override
+    public void restore(ByteBuffer buffer)
+    {
+        targetId = buffer.getInt();
+        directionX = buffer.get();
+        directionY = buffer.get();
+        targetStateTime = buffer.getFloat();
+        intercept = buffer.getFloat();
+    }
+
+    @Override
+    public long hash(long hash)
+    {
+        hash = Hash.mix(hash, targetId);
+        hash = Hash.mix(hash, directionX * 3 + directionY);
+        hash = Hash.mix(hash, targetStateTime);
+
+        return Hash.mix(hash, intercept);
+    }
+}
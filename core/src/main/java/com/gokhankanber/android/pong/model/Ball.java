@@ -0,0 +1,375 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+import com.gokhankanber.android.pong.provider.Config;
+
+public class Ball extends Model
+{
+    private final int negativeDirection = -1;
+    private final int maxCollisions = 8;
+    private final float noCollision = 2;
+
+    // Swept collision
+    private boolean collisionAxisX;
+
+    // Start point
+    private float startX;
+    private float startY;
+
+    public Ball(EntityStore store, float x, float y, float width, float height)
+    {
+        super(store, x, y, width, height);
+
+        startX = x;
+        startY = y;
+
+        setAcceleration(-Config.BALL_ACCELERATION);
+    }
+
+    @Override
+    public void update(float delta)
+    {
+        // Set state time and velocity.
+        stateTime += delta;
+        float value = increaseVelocityValue();
+        store.velocityX[id] = store.accelerationX[id] * delta * value;
+        store.velocityY[id] = store.accelerationY[id] * delta * value;
+
+        // Resolve overlaps, then move ball with swept collision detection.
+        checkCollision();
+        move(store.velocityX[id], store.velocityY[id]);
+
+        // Checks ball position for score.
+        checkWorld();
+    }
+
+    /**
+     * Resolves overlaps at current position, for example a paddle moved into the ball.
+     */
+    @Override
+    protected void checkCollision()
+    {
+        // Check collision with paddle 1 and paddle 2.
+        checkCollisionX(iWorld.getPaddle1().id);
+        checkCollisionX(iWorld.getPaddle2().id);
+
+        // Check collision with walls.
+        for(Block wall : iWorld.getWalls())
+        {
+            checkCollisionY(wall.id);
+        }
+    }
+
+    /**
+     * Resets ball position and state after new score.
+     * @param x coordinate of ball.
+     * @param y coordinate of ball.
+     */
+    public void reset(float x, float y)
+    {
+        setPosition(x, y);
+        resetStateTime();
+    }
+
+    /**
+     * Sets start point used by {@link #reset()}.
+     * @param x coordinate of start point.
+     * @param y coordinate of start point.
+     */
+    public void setStartPoint(float x, float y)
+    {
+        startX = x;
+        startY = y;
+    }
+
+    /**
+     * Resets ball to its start point.
+     */
+    public void reset()
+    {
+        reset(startX, startY);
+    }
+
+    public void setAcceleration(float accelerationValue)
+    {
+        store.accelerationX[id] = accelerationValue;
+        store.accelerationY[id] = -Math.abs(accelerationValue);
+    }
+
+    /**
+     * Moves ball by the specified amount.
+     * Finds the earliest time of impact with paddles and walls, moves ball to contact and reflects the rest of the movement.
+     * Resolves multiple collisions in one step, so fast ball does not pass through paddles and walls.
+     * @param moveX is change in x coordinate.
+     * @param moveY is change in y coordinate.
+     */
+    private void move(float moveX, float moveY)
+    {
+        float[] x = store.x;
+        float[] y = store.y;
+
+        for(int i = 0; i < maxCollisions; i++)
+        {
+            float time = 1;
+            int other = -1;
+            boolean paddle = false;
+            boolean axisX = false;
+
+            // Find the earliest collision.
+            for(int p = 1; p <= 2; p++)
+            {
+                int candidate = p == 1 ? iWorld.getPaddle1().id : iWorld.getPaddle2().id;
+                float t = sweep(candidate, moveX, moveY);
+
+                if(t < time)
+                {
+                    time = t;
+                    other = candidate;
+                    paddle = true;
+                    axisX = collisionAxisX;
+                }
+            }
+
+            for(Block wall : iWorld.getWalls())
+            {
+                float t = sweep(wall.id, moveX, moveY);
+
+                if(t < time)
+                {
+                    time = t;
+                    other = wall.id;
+                    paddle = false;
+                    axisX = collisionAxisX;
+                }
+            }
+
+            if(other < 0)
+            {
+                x[id] += moveX;
+                y[id] += moveY;
+
+                return;
+            }
+
+            // Move to contact point and reflect the remaining movement.
+            if(axisX)
+            {
+                x[id] = moveX > 0 ? x[other] - store.width[id] : x[other] + store.width[other];
+                y[id] += moveY * time;
+                moveX *= negativeDirection;
+                store.velocityX[id] *= negativeDirection;
+                store.accelerationX[id] *= negativeDirection;
+            }
+            else
+            {
+                x[id] += moveX * time;
+                y[id] = moveY > 0 ? y[other] - store.height[id] : y[other] + store.height[other];
+                moveY *= negativeDirection;
+                store.velocityY[id] *= negativeDirection;
+                store.accelerationY[id] *= negativeDirection;
+            }
+
+            moveX *= 1 - time;
+            moveY *= 1 - time;
+
+            if(paddle)
+            {
+                iWorld.playHitSound();
+            }
+            else
+            {
+                iWorld.playHitWallSound();
+            }
+        }
+    }
+
+    /**
+     * Calculates time of impact of moving ball with a static model (swept AABB).
+     * Sets collision axis when there is a collision.
+     * @param other is id of paddle or wall.
+     * @param moveX is change in x coordinate.
+     * @param moveY is change in y coordinate.
+     * @return time of impact between 0 and 1, or a value greater than 1 for no collision.
+     */
+    private float sweep(int other, float moveX, float moveY)
+    {
+        float x = store.x[id];
+        float y = store.y[id];
+        float width = store.width[id];
+        float height = store.height[id];
+        float otherX = store.x[other];
+        float otherY = store.y[other];
+        float otherWidth = store.width[other];
+        float otherHeight = store.height[other];
+        float entryX, exitX, entryY, exitY;
+
+        if(moveX > 0)
+        {
+            entryX = (otherX - x - width) / moveX;
+            exitX = (otherX + otherWidth - x) / moveX;
+        }
+        else if(moveX < 0)
+        {
+            entryX = (otherX + otherWidth - x) / moveX;
+            exitX = (otherX - x - width) / moveX;
+        }
+        else if(x < otherX + otherWidth && x + width > otherX)
+        {
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        }
+        else
+        {
+            return noCollision;
+        }
+
+        if(moveY > 0)
+        {
+            entryY = (otherY - y - height) / moveY;
+            exitY = (otherY + otherHeight - y) / moveY;
+        }
+        else if(moveY < 0)
+        {
+            entryY = (otherY + otherHeight - y) / moveY;
+            exitY = (otherY - y - height) / moveY;
+        }
+        else if(y < otherY + otherHeight && y + height > otherY)
+        {
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        }
+        else
+        {
+            return noCollision;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+
+        if(entry >= exit || entry < 0 || entry > 1)
+        {
+            return noCollision;
+        }
+
+        collisionAxisX = entryX > entryY;
+
+        return entry;
+    }
+
+    /**
+     * Checks overlap of ball with another model.
+     * @param other is id of paddle or wall.
+     */
+    private boolean overlaps(int other)
+    {
+        float[] x = store.x;
+        float[] y = store.y;
+
+        return x[id] < x[other] + store.width[other] && x[id] + store.width[id] > x[other]
+                && y[id] < y[other] + store.height[other] && y[id] + store.height[id] > y[other];
+    }
+
+    /**
+     * Checks collision with paddles.
+     * @param other is id of paddle.
+     */
+    private void checkCollisionX(int other)
+    {
+        if(overlaps(other))
+        {
+            float[] x = store.x;
+            float[] y = store.y;
+            float velocityX = store.velocityX[id];
+            float velocityY = store.velocityY[id];
+
+            if(velocityX < 0 && x[id] > x[other])
+            {
+                // Collision with left paddle. Change ball direction to right.
+                x[id] = x[other] + store.width[other];
+                store.accelerationX[id] *= negativeDirection;
+            }
+            else if(velocityX > 0 && x[id] < x[other] + store.width[other])
+            {
+                // Collision with right paddle. Change ball direction to left.
+                x[id] = x[other] - store.width[id];
+                store.accelerationX[id] *= negativeDirection;
+            }
+            else
+            {
+                // Top or bottom side of paddle model.
+                if((y[id] > y[other] && velocityY < 0) || (y[id] < y[other] && velocityY > 0))
+                {
+                    store.accelerationY[id] *= negativeDirection;
+                }
+            }
+
+            iWorld.playHitSound();
+        }
+    }
+
+    /**
+     * Checks collision with walls.
+     * @param other is id of wall block.
+     */
+    private void checkCollisionY(int other)
+    {
+        if(overlaps(other))
+        {
+            float[] y = store.y;
+
+            if(store.velocityY[id] < 0)
+            {
+                // Collision with down walls.
+                y[id] = y[other] + store.height[other];
+            }
+            else if(store.velocityY[id] > 0)
+            {
+                // Collision with up walls.
+                y[id] = y[other] - store.height[id];
+            }
+
+            store.accelerationY[id] *= negativeDirection;
+            iWorld.playHitWallSound();
+        }
+    }
+
+    private void checkWorld()
+    {
+        if(store.x[id] + store.width[id] < 0)
+        {
+            // Paddle 2 scores new point.
+            iWorld.points(this, 2);
+        }
+        else if(store.x[id] > Config.WIDTH)
+        {
+            // Paddle 1 scores new point.
+            iWorld.points(this, 1);
+        }
+    }
+
+    /**
+     * Increases velocity of ball.
+     * Calculates new value with the state time.
+     * Ratio is an user defined value to simulate game difficulty.
+     * @return value to set new velocity.
+     */
+    private float increaseVelocityValue()
+    {
+        return (1 + stateTime * iWorld.getRules().getBallVelocityRatio());
+    }
+}
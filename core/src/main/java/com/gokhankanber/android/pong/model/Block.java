@@ -21,8 +21,8 @@ package com.gokhankanber.android.pong.model;
  */
 public class Block extends Model
 {
-    public Block(float x, float y, float width, float height)
+    public Block(EntityStore store, float x, float y, float width, float height)
     {
-        super(x, y, width, height);
+        super(store, x, y, width, height);
     }
 }
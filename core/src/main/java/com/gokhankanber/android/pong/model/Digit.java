@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+/**
+ * Score digit glyphs of 3x5 blocks.
+ * A glyph is a 15 bit mask, bit (x * HEIGHT + y) is set for a block at column x and row y, row 0 is the top row.
+ */
+public class Digit
+{
+    public static final int WIDTH = 3;
+    public static final int HEIGHT = 5;
+
+    // Space between digits in blocks
+    public static final int SPACING = 1;
+
+    private static final int[] masks =
+    {
+        0x7e3f, // 0
+        0x7c00, // 1
+        0x5ebd, // 2
+        0x7eb5, // 3
+        0x7c87, // 4
+        0x76b7, // 5
+        0x76bf, // 6
+        0x7c21, // 7
+        0x7ebf, // 8
+        0x7eb7  // 9
+    };
+
+    private Digit()
+    {
+    }
+
+    /**
+     * @param digit is between 0 and 9.
+     * @return glyph mask of digit.
+     */
+    public static int getMask(int digit)
+    {
+        return masks[digit];
+    }
+
+    public static boolean isSet(int mask, int x, int y)
+    {
+        return (mask & (1 << (x * HEIGHT + y))) != 0;
+    }
+
+    /**
+     * @param mask is glyph mask.
+     * @return number of blocks in glyph.
+     */
+    public static int getSize(int mask)
+    {
+        return Integer.bitCount(mask);
+    }
+
+    /**
+     * @param value is a non negative number.
+     * @return number of decimal digits.
+     */
+    public static int count(int value)
+    {
+        int count = 1;
+
+        while(value >= 10)
+        {
+            value /= 10;
+            count++;
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Structure of arrays storage for model data.
+ * Keeps bounds, velocity and acceleration of all models in a world in primitive columns indexed by model id.
+ * Update loops read and write columns directly, models are thin views of a row.
+ */
+public class EntityStore
+{
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int COLUMNS = 8;
+
+    // Columns
+    float[] x;
+    float[] y;
+    float[] width;
+    float[] height;
+    float[] velocityX;
+    float[] velocityY;
+    float[] accelerationX;
+    float[] accelerationY;
+
+    // Positions of previous simulation step for render interpolation
+    float[] previousX;
+    float[] previousY;
+    private int size;
+
+    public EntityStore()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EntityStore(int capacity)
+    {
+        resize(Math.max(1, capacity));
+    }
+
+    /**
+     * Adds a row for a new model.
+     * Columns grow by doubling when capacity is reached.
+     * @return id of the model.
+     */
+    public int add(float x, float y, float width, float height)
+    {
+        if(size == this.x.length)
+        {
+            resize(size * 2);
+        }
+
+        int id = size++;
+        this.x[id] = x;
+        this.y[id] = y;
+        previousX[id] = x;
+        previousY[id] = y;
+        this.width[id] = width;
+        this.height[id] = height;
+
+        return id;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public int capacity()
+    {
+        return x.length;
+    }
+
+    /**
+     * Copies positions of all rows to previous position columns.
+     * Should be called before a simulation step.
+     */
+    public void savePrevious()
+    {
+        System.arraycopy(x, 0, previousX, 0, size);
+        System.arraycopy(y, 0, previousY, 0, size);
+    }
+
+    /**
+     * @return size of saved columns in bytes.
+     */
+    public int getSnapshotSize()
+    {
+        return size * COLUMNS * 4;
+    }
+
+    /**
+     * Writes all rows to buffer.
+     * @param buffer to write.
+     */
+    public void save(ByteBuffer buffer)
+    {
+        for(int i = 0; i < size; i++)
+        {
+            buffer.putFloat(x[i]);
+            buffer.putFloat(y[i]);
+            buffer.putFloat(width[i]);
+            buffer.putFloat(height[i]);
+            buffer.putFloat(velocityX[i]);
+            buffer.putFloat(velocityY[i]);
+            buffer.putFloat(accelerationX[i]);
+            buffer.putFloat(accelerationY[i]);
+        }
+    }
+
+    /**
+     * Reads all rows from buffer, store should have the same size as the saved store.
+     * Previous positions are not saved, they are set to restored positions.
+     * @param buffer to read.
+     */
+    public void restore(ByteBuffer buffer)
+    {
+        for(int i = 0; i < size; i++)
+        {
+            x[i] = buffer.getFloat();
+            y[i] = buffer.getFloat();
+            width[i] = buffer.getFloat();
+            height[i] = buffer.getFloat();
+            velocityX[i] = buffer.getFloat();
+            velocityY[i] = buffer.getFloat();
+            accelerationX[i] = buffer.getFloat();
+            accelerationY[i] = buffer.getFloat();
+        }
+
+        savePrevious();
+    }
+
+    private void resize(int capacity)
+    {
+        if(x == null)
+        {
+            x = new float[capacity];
+            y = new float[capacity];
+            width = new float[capacity];
+            height = new float[capacity];
+            velocityX = new float[capacity];
+            velocityY = new float[capacity];
+            accelerationX = new float[capacity];
+            accelerationY = new float[capacity];
+            previousX = new float[capacity];
+            previousY = new float[capacity];
+        }
+        else
+        {
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            width = Arrays.copyOf(width, capacity);
+            height = Arrays.copyOf(height, capacity);
+            velocityX = Arrays.copyOf(velocityX, capacity);
+            velocityY = Arrays.copyOf(velocityY, capacity);
+            accelerationX = Arrays.copyOf(accelerationX, capacity);
+            accelerationY = Arrays.copyOf(accelerationY, capacity);
+            previousX = Arrays.copyOf(previousX, capacity);
+            previousY = Arrays.copyOf(previousY, capacity);
+        }
+    }
+}
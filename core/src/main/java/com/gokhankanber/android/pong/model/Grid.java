@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid broadphase for models in an {@link EntityStore}.
+ * Each cell keeps a doubly linked list of model ids, linked with primitive arrays.
+ * Models are moved between cells only when their center changes cell, so the grid is updated incrementally.
+ */
+public class Grid
+{
+    private static final int NONE = -1;
+
+    private final EntityStore store;
+    private final float cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] head;
+    private int[] next;
+    private int[] previous;
+    private int[] cell;
+
+    /**
+     * @param store contains model bounds.
+     * @param width is grid width.
+     * @param height is grid height.
+     * @param cellSize should be at least the size of the largest model.
+     */
+    public Grid(EntityStore store, float width, float height, float cellSize)
+    {
+        this.store = store;
+        this.cellSize = cellSize;
+        columns = (int) Math.ceil(width / cellSize);
+        rows = (int) Math.ceil(height / cellSize);
+        head = new int[columns * rows];
+        Arrays.fill(head, NONE);
+        resize(store.capacity());
+    }
+
+    /**
+     * Inserts a model or moves it to the cell of its current center.
+     * @param id is model id.
+     */
+    public void update(int id)
+    {
+        if(id >= cell.length)
+        {
+            resize(store.capacity());
+        }
+
+        int index = cellIndex(id);
+
+        if(cell[id] != index)
+        {
+            remove(id);
+            insert(id, index);
+        }
+    }
+
+    /**
+     * Removes a model from the grid.
+     * @param id is model id.
+     */
+    public void remove(int id)
+    {
+        int index = cell[id];
+
+        if(index == NONE)
+        {
+            return;
+        }
+
+        if(previous[id] != NONE)
+        {
+            next[previous[id]] = next[id];
+        }
+        else
+        {
+            head[index] = next[id];
+        }
+
+        if(next[id] != NONE)
+        {
+            previous[next[id]] = previous[id];
+        }
+
+        cell[id] = NONE;
+    }
+
+    public int getColumns()
+    {
+        return columns;
+    }
+
+    public int getRows()
+    {
+        return rows;
+    }
+
+    public int getColumn(int id)
+    {
+        return cell[id] % columns;
+    }
+
+    public int getRow(int id)
+    {
+        return cell[id] / columns;
+    }
+
+    /**
+     * @return first model id in the cell, or -1 for an empty cell.
+     */
+    public int first(int column, int row)
+    {
+        return head[row * columns + column];
+    }
+
+    /**
+     * @return next model id in the same cell, or -1 at the end of the cell.
+     */
+    public int next(int id)
+    {
+        return next[id];
+    }
+
+    private void insert(int id, int index)
+    {
+        previous[id] = NONE;
+        next[id] = head[index];
+
+        if(head[index] != NONE)
+        {
+            previous[head[index]] = id;
+        }
+
+        head[index] = id;
+        cell[id] = index;
+    }
+
+    /**
+     * Calculates cell of model center, models outside of the grid are kept in the border cells.
+     */
+    private int cellIndex(int id)
+    {
+        int column = (int) ((store.x[id] + store.width[id] / 2) / cellSize);
+        int row = (int) ((store.y[id] + store.height[id] / 2) / cellSize);
+        column = Math.max(0, Math.min(columns - 1, column));
+        row = Math.max(0, Math.min(rows - 1, row));
+
+        return row * columns + column;
+    }
+
+    private void resize(int capacity)
+    {
+        int length = cell == null ? 0 : cell.length;
+        next = next == null ? new int[capacity] : Arrays.copyOf(next, capacity);
+        previous = previous == null ? new int[capacity] : Arrays.copyOf(previous, capacity);
+        cell = cell == null ? new int[capacity] : Arrays.copyOf(cell, capacity);
+        Arrays.fill(cell, length, capacity, NONE);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+/**
+ * Hash functions to compare simulation states (FNV-1a on 32 bit words).
+ */
+public final class Hash
+{
+    public static final long SEED = 0xCBF29CE484222325L;
+    private static final long PRIME = 0x100000001B3L;
+
+    private Hash()
+    {
+    }
+
+    public static long mix(long hash, int value)
+    {
+        return (hash ^ (value & 0xFFFFFFFFL)) * PRIME;
+    }
+
+    public static long mix(long hash, long value)
+    {
+        return mix(mix(hash, (int) value), (int) (value >>> 32));
+    }
+
+    public static long mix(long hash, float value)
+    {
+        return mix(hash, Float.floatToRawIntBits(value));
+    }
+
+    public static long mix(long hash, boolean value)
+    {
+        return mix(hash, value ? 1 : 0);
+    }
+}
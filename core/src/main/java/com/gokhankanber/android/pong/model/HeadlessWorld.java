@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.gokhankanber.android.pong.controller.game.Policy;
+import com.gokhankanber.android.pong.provider.Config;
+
+import java.io.File;
+
+/**
+ * Creates and runs cpu vs cpu worlds without rendering or audio.
+ * Policy cpus use the policy file of {@link Config#CPU_POLICY_FILE} in working directory.
+ */
+public class HeadlessWorld
+{
+    public static final float HEIGHT = Config.WIDTH * 16 / 9;
+
+    private static Policy cpuPolicy;
+
+    private HeadlessWorld()
+    {
+    }
+
+    /**
+     * Creates a seeded cpu vs cpu world with default rules and 16:9 height.
+     * Game is not started, so a recorder can be attached before the first new game.
+     * @param seed is random seed of world.
+     * @param ballCount is number of balls.
+     * @return new world.
+     */
+    public static World create(long seed, int ballCount)
+    {
+        return create(HEIGHT, seed, ballCount);
+    }
+
+    /**
+     * @param height is world height.
+     * @param seed is random seed of world.
+     * @param ballCount is number of balls.
+     * @return new world.
+     */
+    public static World create(float height, long seed, int ballCount)
+    {
+        return create(height, rules(), seed, ballCount);
+    }
+
+    /**
+     * @param height is world height.
+     * @param rules are gameplay values.
+     * @param seed is random seed of world.
+     * @param ballCount is number of balls.
+     * @return new world.
+     */
+    public static World create(float height, Rules rules, long seed, int ballCount)
+    {
+        World world = new World(height, SilentSound.INSTANCE, rules, ballCount);
+        world.setSeed(seed);
+        world.getPaddle1().setCpu();
+
+        return world;
+    }
+
+    /**
+     * @return default rules with the policy of policy cpus.
+     */
+    public static Rules rules()
+    {
+        return new Rules(getCpuPolicy());
+    }
+
+    /**
+     * Loads policy file once if cpu type is policy.
+     * @return policy of policy cpus, null for other cpu types.
+     */
+    public static synchronized Policy getCpuPolicy()
+    {
+        if(cpuPolicy == null && Config.TYPE_CPU == Config.CpuType.POLICY)
+        {
+            cpuPolicy = Policy.load(new FileHandle(new File(Config.CPU_POLICY_FILE)));
+        }
+
+        return cpuPolicy;
+    }
+
+    /**
+     * Starts a new game and resumes world.
+     * @param world to start.
+     */
+    public static void start(World world)
+    {
+        world.newGame();
+        world.resume();
+    }
+
+    /**
+     * Steps world with fixed time steps, starts a new game when a game ends.
+     * @param world to step.
+     * @param steps is number of steps.
+     */
+    public static void run(World world, int steps)
+    {
+        for(int i = 0; i < steps; i++)
+        {
+            world.step(Config.STEP_TIME);
+
+            if(world.isEnding())
+            {
+                start(world);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+/**
+ * Recorder interface for world inputs and events.
+ * Step is the number of simulated steps of world when the input or event happens.
+ */
+public interface IRecorder
+{
+    void seed(int step, long seed);
+    void move(int step, float amount);
+    void pause(int step);
+    void resume(int step);
+    void newGame(int step);
+    void points(int step, int paddle);
+    void hit(int step);
+    void hitWall(int step);
+}
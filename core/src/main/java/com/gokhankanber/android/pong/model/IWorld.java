@@ -24,10 +24,14 @@ import com.badlogic.gdx.utils.Array;
 public interface IWorld
 {
     Ball getBall();
+    Array<Ball> getBalls();
     Paddle getPaddle1();
     Paddle getPaddle2();
     Array<Block> getWalls();
-    void points(int paddle);
+    float getHeight();
+    Rules getRules();
+    SeededRandom getRandom();
+    void points(Ball ball, int paddle);
     void playHitSound();
     void playHitWallSound();
 }
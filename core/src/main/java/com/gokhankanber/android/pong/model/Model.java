@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Base model class.
+ * View of a model row in {@link EntityStore}: bounds, velocity and acceleration.
+ * Contains state time and world interface.
+ */
+public class Model
+{
+    protected final EntityStore store;
+    protected final int id;
+    protected float stateTime;
+    protected IWorld iWorld;
+
+    public Model(EntityStore store, float x, float y, float width, float height)
+    {
+        this.store = store;
+        id = store.add(x, y, width, height);
+    }
+
+    public int getId()
+    {
+        return id;
+    }
+
+    public IWorld getListener()
+    {
+        return iWorld;
+    }
+
+    public void setListener(IWorld iWorld)
+    {
+        this.iWorld = iWorld;
+    }
+
+    public float getX()
+    {
+        return store.x[id];
+    }
+
+    public float getY()
+    {
+        return store.y[id];
+    }
+
+    public void setPositionY(float y)
+    {
+        store.y[id] = y;
+    }
+
+    /**
+     * Sets position without interpolation from previous position.
+     */
+    public void setPosition(float x, float y)
+    {
+        store.x[id] = x;
+        store.y[id] = y;
+        store.previousX[id] = x;
+        store.previousY[id] = y;
+    }
+
+    public float getPreviousX()
+    {
+        return store.previousX[id];
+    }
+
+    public float getPreviousY()
+    {
+        return store.previousY[id];
+    }
+
+    /**
+     * @param alpha is fraction of time step between previous and current simulation step.
+     * @return interpolated x coordinate for rendering.
+     */
+    public float getInterpolatedX(float alpha)
+    {
+        return store.previousX[id] + (store.x[id] - store.previousX[id]) * alpha;
+    }
+
+    /**
+     * @param alpha is fraction of time step between previous and current simulation step.
+     * @return interpolated y coordinate for rendering.
+     */
+    public float getInterpolatedY(float alpha)
+    {
+        return store.previousY[id] + (store.y[id] - store.previousY[id]) * alpha;
+    }
+
+    public float getWidth()
+    {
+        return store.width[id];
+    }
+
+    public float getHeight()
+    {
+        return store.height[id];
+    }
+
+    public float getAccelerationX()
+    {
+        return store.accelerationX[id];
+    }
+
+    public float getAccelerationY()
+    {
+        return store.accelerationY[id];
+    }
+
+    public void setAccelerationY(float y)
+    {
+        store.accelerationY[id] = y;
+    }
+
+    public float getVelocityX()
+    {
+        return store.velocityX[id];
+    }
+
+    public float getVelocityY()
+    {
+        return store.velocityY[id];
+    }
+
+    public void setVelocityY(float y)
+    {
+        store.velocityY[id] = y;
+    }
+
+    public float getStateTime()
+    {
+        return stateTime;
+    }
+
+    public void setStateTime(float stateTime)
+    {
+        this.stateTime = stateTime;
+    }
+
+    public void resetStateTime()
+    {
+        stateTime = 0;
+    }
+
+    /**
+     * @return size of saved state in bytes, row data is saved by {@link EntityStore}.
+     */
+    public int getSnapshotSize()
+    {
+        return 4;
+    }
+
+    public void save(ByteBuffer buffer)
+    {
+        buffer.putFloat(stateTime);
+    }
+
+    public void restore(ByteBuffer buffer)
+    {
+        stateTime = buffer.getFloat();
+    }
+
+    public void update(float delta)
+    {
+    }
+
+    protected void checkCollision()
+    {
+    }
+}
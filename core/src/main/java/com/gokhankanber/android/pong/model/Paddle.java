@@ -0,0 +1,264 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+import com.badlogic.gdx.utils.Array;
+import com.gokhankanber.android.pong.controller.game.Cpu;
+import com.gokhankanber.android.pong.controller.game.ICpu;
+import com.gokhankanber.android.pong.controller.game.PolicyCpu;
+import com.gokhankanber.android.pong.controller.game.PredictiveCpu;
+import com.gokhankanber.android.pong.provider.Config;
+
+import java.nio.ByteBuffer;
+
+public class Paddle extends Model
+{
+    // Score
+    public int points = 0;
+    private final int[] digits = new int[Digit.count(Integer.MAX_VALUE)];
+    private int digitCount;
+    private int size;
+
+    // User or Cpu
+    private boolean isCpu;
+    private ICpu cpu;
+
+    public Paddle(EntityStore store, float x, float y, float width, float height)
+    {
+        super(store, x, y, width, height);
+
+        updateScore();
+    }
+
+    @Override
+    public void update(float delta)
+    {
+        if(isCpu)
+        {
+            cpu.move(delta);
+        }
+    }
+
+    public boolean isCpu()
+    {
+        return isCpu;
+    }
+
+    /**
+     * Sets cpu of {@link Config#TYPE_CPU} type.
+     */
+    public void setCpu()
+    {
+        switch(Config.TYPE_CPU)
+        {
+            case PREDICTIVE:
+                setCpu(new PredictiveCpu(this));
+                break;
+            case POLICY:
+                setCpu(new PolicyCpu(this));
+                break;
+            default:
+                setCpu(new Cpu(this));
+                break;
+        }
+    }
+
+    /**
+     * Sets cpu to move paddle, listener of paddle should be set before creating cpu.
+     * @param cpu moves paddle.
+     */
+    public void setCpu(ICpu cpu)
+    {
+        isCpu = true;
+        this.cpu = cpu;
+    }
+
+    /**
+     * Resets cpu state for a new game.
+     */
+    public void resetCpu()
+    {
+        if(isCpu)
+        {
+            cpu.reset();
+        }
+    }
+
+    @Override
+    public int getSnapshotSize()
+    {
+        return super.getSnapshotSize() + 4 + (isCpu ? cpu.getSnapshotSize() : 0);
+    }
+
+    @Override
+    public void save(ByteBuffer buffer)
+    {
+        super.save(buffer);
+        buffer.putInt(points);
+
+        if(isCpu)
+        {
+            cpu.save(buffer);
+        }
+    }
+
+    /**
+     * Restores paddle state, score board is rebuilt only when points are changed.
+     * @param buffer to read.
+     */
+    @Override
+    public void restore(ByteBuffer buffer)
+    {
+        super.restore(buffer);
+        int value = buffer.getInt();
+
+        if(value != points)
+        {
+            points = value;
+            updateScore();
+        }
+
+        if(isCpu)
+        {
+            cpu.restore(buffer);
+        }
+    }
+
+    /**
+     * Adds score and cpu state to hash.
+     * @param hash is current hash value.
+     * @return new hash value.
+     */
+    public long hash(long hash)
+    {
+        hash = Hash.mix(hash, points);
+        hash = Hash.mix(hash, stateTime);
+
+        return isCpu ? cpu.hash(hash) : hash;
+    }
+
+    /**
+     * @return direction of ball moving to the paddle: 1 for right paddle, -1 for left paddle.
+     */
+    public int getDirection()
+    {
+        return store.x[id] > Config.WIDTH / 2 ? 1 : -1;
+    }
+
+    /**
+     * Finds the ball for a cpu to follow.
+     * In multi-ball mode, it is the nearest ball moving to the paddle.
+     * @return target ball.
+     */
+    public Ball getTargetBall()
+    {
+        Array<Ball> balls = iWorld.getBalls();
+        Ball target = iWorld.getBall();
+
+        if(balls.size == 1)
+        {
+            return target;
+        }
+
+        int direction = getDirection();
+        float distance = Float.MAX_VALUE;
+
+        for(int i = 0; i < balls.size; i++)
+        {
+            Ball ball = balls.get(i);
+            float ballDistance = (store.x[id] - ball.getX()) * direction;
+
+            if(ball.getAccelerationX() * direction > 0 && ballDistance >= 0 && ballDistance < distance)
+            {
+                target = ball;
+                distance = ballDistance;
+            }
+        }
+
+        return target;
+    }
+
+    /**
+     * Moves user paddle by amount of change in y coordinate.
+     * Input is applied between simulation steps, so previous position is moved too and paddle is drawn without input latency.
+     * @param amount is change in y coordinate.
+     */
+    public void move(float amount)
+    {
+        store.y[id] += amount;
+        checkWorld();
+        store.previousY[id] = store.y[id];
+    }
+
+    /**
+     * Checks bounds of paddle in y coordinate to stay paddle in world.
+     */
+    public void checkWorld()
+    {
+        float[] y = store.y;
+
+        if(y[id] + store.height[id] > iWorld.getHeight())
+        {
+            y[id] = iWorld.getHeight() - store.height[id];
+        }
+        else if(y[id] < 0)
+        {
+            y[id] = 0;
+        }
+    }
+
+    /**
+     * Writes digit masks of score in place, most significant digit first.
+     */
+    public void updateScore()
+    {
+        int count = Digit.count(points);
+        int value = points;
+        size = 0;
+
+        for(int i = count - 1; i >= 0; i--)
+        {
+            digits[i] = value % 10;
+            size += Digit.getSize(Digit.getMask(digits[i]));
+            value /= 10;
+        }
+
+        digitCount = count;
+    }
+
+    public int getDigitCount()
+    {
+        return digitCount;
+    }
+
+    /**
+     * @param index is position of digit, 0 is the most significant digit.
+     * @return digit value between 0 and 9.
+     */
+    public int getDigit(int index)
+    {
+        return digits[index];
+    }
+
+    /**
+     * @return number of blocks in scoreboard.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+import com.gokhankanber.android.pong.controller.game.Policy;
+import com.gokhankanber.android.pong.provider.Config;
+
+/**
+ * Gameplay values of a world.
+ * Defaults are taken from {@link Config}, other values are used to tune gameplay with simulations.
+ * Policy of policy cpus is loaded by the platform and passed with rules, it is not a tuned value.
+ */
+public class Rules
+{
+    private final float ballAcceleration;
+    private final float ballVelocityRatio;
+    private final int cpuMinRandomValue;
+    private final int cpuMaxRandomValue;
+    private final Policy cpuPolicy;
+
+    public Rules()
+    {
+        this((Policy) null);
+    }
+
+    /**
+     * @param cpuPolicy is action table of policy cpus, null if they are not used.
+     */
+    public Rules(Policy cpuPolicy)
+    {
+        this(Config.BALL_ACCELERATION, Config.BALL_VELOCITY_RATIO, Config.CPU_MIN_RANDOM_VALUE, Config.CPU_MAX_RANDOM_VALUE, cpuPolicy);
+    }
+
+    public Rules(float ballAcceleration, float ballVelocityRatio, int cpuMinRandomValue, int cpuMaxRandomValue)
+    {
+        this(ballAcceleration, ballVelocityRatio, cpuMinRandomValue, cpuMaxRandomValue, null);
+    }
+
+    public Rules(float ballAcceleration, float ballVelocityRatio, int cpuMinRandomValue, int cpuMaxRandomValue, Policy cpuPolicy)
+    {
+        this.ballAcceleration = ballAcceleration;
+        this.ballVelocityRatio = ballVelocityRatio;
+        this.cpuMinRandomValue = cpuMinRandomValue;
+        this.cpuMaxRandomValue = cpuMaxRandomValue;
+        this.cpuPolicy = cpuPolicy;
+    }
+
+    public float getBallAcceleration()
+    {
+        return ballAcceleration;
+    }
+
+    public float getBallVelocityRatio()
+    {
+        return ballVelocityRatio;
+    }
+
+    public int getCpuMinRandomValue()
+    {
+        return cpuMinRandomValue;
+    }
+
+    public int getCpuMaxRandomValue()
+    {
+        return cpuMaxRandomValue;
+    }
+
+    public Policy getCpuPolicy()
+    {
+        return cpuPolicy;
+    }
+}
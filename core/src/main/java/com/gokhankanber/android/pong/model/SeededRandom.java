@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+/**
+ * Seedable random number generator (SplitMix64).
+ * State is a single long, so it can be saved and restored to reproduce a match.
+ */
+public class SeededRandom
+{
+    private long state;
+
+    public SeededRandom(long seed)
+    {
+        state = seed;
+    }
+
+    public long nextLong()
+    {
+        state += 0x9E3779B97F4A7C15L;
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @param bound is upper limit (exclusive), should be positive.
+     * @return random number between zero and bound.
+     */
+    public int nextInt(int bound)
+    {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    public long getState()
+    {
+        return state;
+    }
+
+    public void setState(long state)
+    {
+        this.state = state;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+/**
+ * Sound sink which ignores world events, used by worlds without audio.
+ */
+public class SilentSound implements ISound
+{
+    public static final SilentSound INSTANCE = new SilentSound();
+
+    private SilentSound()
+    {
+    }
+
+    @Override
+    public void playHit()
+    {
+    }
+
+    @Override
+    public void playHitWall()
+    {
+    }
+
+    @Override
+    public void playPoints()
+    {
+    }
+}
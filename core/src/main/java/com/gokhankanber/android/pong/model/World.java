@@ -0,0 +1,918 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.model;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.gokhankanber.android.pong.provider.Config;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Creates models.
+ * Updates and checks score.
+ * Manages world's state.
+ */
+public class World
+{
+    // State
+    private enum State
+    {
+        READY,
+        PAUSE,
+        RESUME,
+        ENDING,
+        END
+    }
+
+    private static final State[] states = State.values();
+    private State state = State.READY;
+    private float stateTime = 0;
+    private float accumulator = 0;
+    private int stepCount = 0;
+    private boolean scoreChanged = false;
+    private boolean gameOver = false;
+
+    // Snapshot version and sizes of header and world fields in bytes
+    public static final int SNAPSHOT_VERSION = 1;
+    private static final int snapshotHeaderSize = 4 + 4 + 4;
+    private static final int snapshotStateSize = 1 + 4 + 4 + 4 + 1 + 1 + 8 + 8;
+
+    // Screen height, sound, rules and random generator
+    private float height;
+    private ISound sound;
+    private final Rules rules;
+    private final SeededRandom random = new SeededRandom(0);
+    private long seed;
+    private IRecorder recorder;
+
+    // Models
+    private final EntityStore store;
+    private final float paddingHorizontal = Config.BLOCK;
+    private final float ballSize = Config.BLOCK;
+    private final float paddleWidth = Config.BLOCK;
+    private final float paddleHeight = Config.BLOCK * 4;
+    private int borderBlockCount;
+    private final float wallX = 2 * Config.BLOCK;
+    private float wallY;
+    private final float wallWidth = Config.WIDTH - 4 * Config.BLOCK;
+    private final float wallHeight = Config.BLOCK;
+    private final Vector2 ballStartPoint = new Vector2();
+    private Ball ball;
+    private Array<Ball> balls;
+    private Grid grid;
+    private Paddle paddle1, paddle2;
+    private Array<Block> border;
+    private Array<Block> borderBlocks;
+    private Array<Block> walls;
+
+    /**
+     * @param height is world height for the screen aspect ratio.
+     * @param sound plays world sounds.
+     */
+    public World(float height, ISound sound)
+    {
+        this(height, sound, new Rules());
+    }
+
+    /**
+     * @param height is world height for the screen aspect ratio.
+     * @param sound plays world sounds.
+     * @param rules are gameplay values.
+     */
+    public World(float height, ISound sound, Rules rules)
+    {
+        this(height, sound, rules, 1);
+    }
+
+    /**
+     * @param height is world height for the screen aspect ratio.
+     * @param sound plays world sounds.
+     * @param rules are gameplay values.
+     * @param ballCount is number of balls, more than one ball is multi-ball mode.
+     */
+    public World(float height, ISound sound, Rules rules, int ballCount)
+    {
+        // Set height, sound and rules, create models.
+        this.height = height;
+        this.sound = sound;
+        this.rules = rules;
+        setBounds();
+        setSeed(System.nanoTime());
+        store = new EntityStore(ballCount + 2 + borderBlockCount + 2);
+        createBalls(ballCount);
+        paddle1 = new Paddle(store, paddingHorizontal, (height - paddleHeight) / 2, paddleWidth, paddleHeight);
+        paddle1.setListener(iWorld);
+        paddle2 = new Paddle(store, Config.WIDTH - paddingHorizontal - paddleWidth, (height - paddleHeight) / 2, paddleWidth, paddleHeight);
+        paddle2.setListener(iWorld);
+        paddle2.setCpu();
+        createBorder();
+        createWalls();
+    }
+
+    public boolean isScoreChanged()
+    {
+        return scoreChanged;
+    }
+
+    public void resetScoreChanged()
+    {
+        scoreChanged = false;
+    }
+
+    /**
+     * Resets world on new game.
+     */
+    private void reset()
+    {
+        scoreChanged = true;
+        resetBalls();
+    }
+
+    /**
+     * Resets balls to start points and directions.
+     */
+    private void resetBalls()
+    {
+        for(int i = 0; i < balls.size; i++)
+        {
+            Ball ball = balls.get(i);
+            ball.reset();
+            ball.setAcceleration(i % 2 == 0 ? -rules.getBallAcceleration() : rules.getBallAcceleration());
+
+            if(i / 2 % 2 == 1)
+            {
+                // Every other pair of balls starts moving up.
+                ball.setAccelerationY(-ball.getAccelerationY());
+            }
+        }
+    }
+
+    /**
+     * Updates score.
+     * Resets the ball which passed a paddle.
+     * Balls passing a paddle after the match is decided in the same step don't score.
+     * @param ball is the scoring ball.
+     * @param paddle is paddle number.
+     */
+    private void points(Ball ball, int paddle)
+    {
+        if(isEnding())
+        {
+            ball.reset();
+
+            return;
+        }
+
+        sound.playPoints();
+
+        if(recorder != null)
+        {
+            recorder.points(stepCount, paddle);
+        }
+
+        if(paddle == 1)
+        {
+            getPaddle1().points++;
+            getPaddle1().updateScore();
+            ball.setAcceleration(-rules.getBallAcceleration());
+        }
+        else
+        {
+            getPaddle2().points++;
+            getPaddle2().updateScore();
+            ball.setAcceleration(rules.getBallAcceleration());
+        }
+
+        scoreChanged = true;
+        ball.reset();
+        checkPoints();
+    }
+
+    /**
+     * Checks score.
+     */
+    private void checkPoints()
+    {
+        if(getPaddle1().points >= Config.MAX_POINTS)
+        {
+            ending();
+        }
+        else if(getPaddle2().points >= Config.MAX_POINTS)
+        {
+            ending();
+            gameOver = true;
+        }
+    }
+
+    public boolean isGameOver()
+    {
+        return gameOver;
+    }
+
+    /**
+     * Resets world for a new game.
+     */
+    public void newGame()
+    {
+        if(recorder != null)
+        {
+            recorder.newGame(stepCount);
+        }
+
+        state = State.READY;
+        gameOver = false;
+        paddle1.setPosition(paddingHorizontal, (height - paddleHeight) / 2);
+        getPaddle1().points = 0;
+        getPaddle1().updateScore();
+        paddle2.setPosition(Config.WIDTH - paddingHorizontal - paddleWidth, (height - paddleHeight) / 2);
+        getPaddle2().points = 0;
+        getPaddle2().updateScore();
+        paddle1.resetCpu();
+        paddle2.resetCpu();
+        reset();
+    }
+
+    public void pause()
+    {
+        if(recorder != null)
+        {
+            recorder.pause(stepCount);
+        }
+
+        state = State.PAUSE;
+    }
+
+    public void resume()
+    {
+        if(recorder != null)
+        {
+            recorder.resume(stepCount);
+        }
+
+        state = State.RESUME;
+    }
+
+    /**
+     * Moves user paddle by amount of change in y coordinate.
+     * @param amount is change in y coordinate.
+     */
+    public void move(float amount)
+    {
+        if(recorder != null)
+        {
+            recorder.move(stepCount, amount);
+        }
+
+        paddle1.move(amount);
+    }
+
+    public void ending()
+    {
+        state = State.ENDING;
+    }
+
+    public void end()
+    {
+        state = State.END;
+    }
+
+    public boolean isReady()
+    {
+        return state == State.READY;
+    }
+
+    public boolean isPaused()
+    {
+        return state == State.PAUSE;
+    }
+
+    public boolean isResumed()
+    {
+        return state == State.RESUME;
+    }
+
+    public boolean isEnding()
+    {
+        return state == State.ENDING;
+    }
+
+    public boolean isEnd()
+    {
+        return state == State.END;
+    }
+
+    /**
+     * Sets height dependent bounds: border block count, top wall and ball start point.
+     */
+    private void setBounds()
+    {
+        borderBlockCount = (int) (height / (Config.BLOCK * 2));
+        wallY = (int) height - Config.BLOCK;
+        ballStartPoint.set((Config.WIDTH - ballSize) / 2, borderBlockCount * Config.BLOCK - (borderBlockCount % 2 == 0 ? 1 : 2) * Config.BLOCK);
+    }
+
+    /**
+     * Creates balls.
+     * First ball starts at the center, other balls of multi-ball mode start in columns next to the center.
+     * @param ballCount is number of balls.
+     */
+    private void createBalls(int ballCount)
+    {
+        balls = new Array<>(ballCount);
+
+        for(int i = 0; i < ballCount; i++)
+        {
+            createBall();
+        }
+
+        setStartPoints();
+
+        if(ballCount > 1)
+        {
+            grid = new Grid(store, Config.WIDTH, height, Config.BLOCK * 2);
+        }
+
+        resetBalls();
+    }
+
+    private Ball createBall()
+    {
+        Ball ball = new Ball(store, 0, 0, ballSize, ballSize);
+        ball.setListener(iWorld);
+        balls.add(ball);
+
+        return ball;
+    }
+
+    /**
+     * Sets start points of balls for the world height.
+     */
+    private void setStartPoints()
+    {
+        ball = balls.first();
+        ball.setStartPoint(ballStartPoint.x, ballStartPoint.y);
+        int rows = Math.max(1, (int) ((height - 4 * Config.BLOCK) / (Config.BLOCK * 2)));
+
+        for(int i = 1; i < balls.size; i++)
+        {
+            int column = 1 + (i - 1) / rows;
+            int row = (i - 1) % rows;
+            float offset = (column + 1) / 2 * Config.BLOCK * 2 * (column % 2 == 0 ? -1 : 1);
+            balls.get(i).setStartPoint(ballStartPoint.x + offset, Config.BLOCK * 2 + row * Config.BLOCK * 2);
+        }
+    }
+
+    private void createBorder()
+    {
+        border = new Array<>();
+        borderBlocks = new Array<>();
+        layoutBorder();
+    }
+
+    /**
+     * Shows border blocks for the world height.
+     * Blocks are created when the height grows and kept in the store when it shrinks.
+     */
+    private void layoutBorder()
+    {
+        while(borderBlocks.size < borderBlockCount)
+        {
+            int i = borderBlocks.size;
+            borderBlocks.add(new Block(store, (Config.WIDTH - Config.BLOCK) / 2, Config.BLOCK + Config.BLOCK * i * 2, Config.BLOCK, Config.BLOCK));
+        }
+
+        border.clear();
+
+        for(int i = 0; i < borderBlockCount; i++)
+        {
+            border.add(borderBlocks.get(i));
+        }
+    }
+
+    /**
+     * Changes world height for a new screen size.
+     * Moves top wall, border, paddles and balls into the new bounds and sets new start points.
+     * Balls of ready state are moved to their new start points.
+     * @param height is world height for the screen aspect ratio.
+     */
+    public void resize(float height)
+    {
+        if(height == this.height)
+        {
+            return;
+        }
+
+        this.height = height;
+        setBounds();
+        layoutBorder();
+        walls.get(1).setPosition(wallX, wallY);
+        setStartPoints();
+        paddle1.checkWorld();
+        paddle1.setPosition(paddle1.getX(), paddle1.getY());
+        paddle2.checkWorld();
+        paddle2.setPosition(paddle2.getX(), paddle2.getY());
+
+        for(int i = 0; i < balls.size; i++)
+        {
+            Ball ball = balls.get(i);
+
+            if(isReady())
+            {
+                ball.reset();
+            }
+            else
+            {
+                ball.setPosition(ball.getX(), Math.max(wallHeight, Math.min(ball.getY(), wallY - ballSize)));
+            }
+        }
+
+        if(grid != null)
+        {
+            grid = new Grid(store, Config.WIDTH, height, Config.BLOCK * 2);
+        }
+    }
+
+    private void createWalls()
+    {
+        walls = new Array<>();
+        walls.add(new Block(store, wallX, 0, wallWidth, wallHeight));
+        walls.add(new Block(store, wallX, wallY, wallWidth, wallHeight));
+    }
+
+    public float getHeight()
+    {
+        return height;
+    }
+
+    public Rules getRules()
+    {
+        return rules;
+    }
+
+    /**
+     * Seeds random generator of world.
+     * Worlds with the same seed, time steps and inputs produce the same states.
+     * @param seed is random seed.
+     */
+    public void setSeed(long seed)
+    {
+        if(recorder != null)
+        {
+            recorder.seed(stepCount, seed);
+        }
+
+        this.seed = seed;
+        random.setState(seed);
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Sets recorder for inputs and events, null stops recording.
+     * @param recorder is replay recorder.
+     */
+    public void setRecorder(IRecorder recorder)
+    {
+        this.recorder = recorder;
+    }
+
+    public int getBallCount()
+    {
+        return balls.size;
+    }
+
+    /**
+     * @return fraction of time step left in accumulator, used to interpolate between the last two steps.
+     */
+    public float getAlpha()
+    {
+        return accumulator / Config.STEP_TIME;
+    }
+
+    /**
+     * @return number of simulated steps.
+     */
+    public int getStepCount()
+    {
+        return stepCount;
+    }
+
+    /**
+     * @return size of snapshot in bytes to preallocate a buffer.
+     */
+    public int getSnapshotSize()
+    {
+        int size = snapshotHeaderSize + snapshotStateSize + store.getSnapshotSize();
+
+        for(int i = 0; i < balls.size; i++)
+        {
+            size += balls.get(i).getSnapshotSize();
+        }
+
+        return size + paddle1.getSnapshotSize() + paddle2.getSnapshotSize();
+    }
+
+    /**
+     * Writes complete world state to buffer at its position without allocation.
+     * @param buffer should have {@link #getSnapshotSize()} bytes remaining.
+     */
+    public void save(ByteBuffer buffer)
+    {
+        buffer.putInt(SNAPSHOT_VERSION);
+        buffer.putInt(store.size());
+        buffer.putInt(balls.size);
+        buffer.put((byte) state.ordinal());
+        buffer.putFloat(stateTime);
+        buffer.putFloat(accumulator);
+        buffer.putInt(stepCount);
+        buffer.put((byte) (scoreChanged ? 1 : 0));
+        buffer.put((byte) (gameOver ? 1 : 0));
+        buffer.putLong(seed);
+        buffer.putLong(random.getState());
+        store.save(buffer);
+
+        for(int i = 0; i < balls.size; i++)
+        {
+            balls.get(i).save(buffer);
+        }
+
+        paddle1.save(buffer);
+        paddle2.save(buffer);
+    }
+
+    /**
+     * Reads complete world state from buffer at its position.
+     * Snapshot should be saved by a world with the same height, ball count and cpu paddles.
+     * @param buffer to read.
+     */
+    public void restore(ByteBuffer buffer)
+    {
+        int version = buffer.getInt();
+
+        if(version != SNAPSHOT_VERSION)
+        {
+            throw new GdxRuntimeException("Unsupported snapshot version: " + version);
+        }
+
+        if(buffer.getInt() != store.size() || buffer.getInt() != balls.size)
+        {
+            throw new GdxRuntimeException("Snapshot of a different world");
+        }
+
+        state = states[buffer.get()];
+        stateTime = buffer.getFloat();
+        accumulator = buffer.getFloat();
+        stepCount = buffer.getInt();
+        scoreChanged = buffer.get() != 0;
+        gameOver = buffer.get() != 0;
+        seed = buffer.getLong();
+        random.setState(buffer.getLong());
+        store.restore(buffer);
+
+        for(int i = 0; i < balls.size; i++)
+        {
+            balls.get(i).restore(buffer);
+        }
+
+        paddle1.restore(buffer);
+        paddle2.restore(buffer);
+
+        if(grid != null)
+        {
+            for(int i = 0; i < balls.size; i++)
+            {
+                grid.update(balls.get(i).getId());
+            }
+        }
+    }
+
+    /**
+     * Calculates hash of world state.
+     * It is used to verify deterministic simulation, equal states have equal hashes.
+     * @return hash value.
+     */
+    public long hash()
+    {
+        long hash = Hash.SEED;
+        hash = Hash.mix(hash, state.ordinal());
+        hash = Hash.mix(hash, stateTime);
+        hash = Hash.mix(hash, accumulator);
+        hash = Hash.mix(hash, stepCount);
+        hash = Hash.mix(hash, scoreChanged);
+        hash = Hash.mix(hash, gameOver);
+
+        for(int i = 0; i < store.size(); i++)
+        {
+            hash = Hash.mix(hash, store.x[i]);
+            hash = Hash.mix(hash, store.y[i]);
+            hash = Hash.mix(hash, store.width[i]);
+            hash = Hash.mix(hash, store.height[i]);
+            hash = Hash.mix(hash, store.velocityX[i]);
+            hash = Hash.mix(hash, store.velocityY[i]);
+            hash = Hash.mix(hash, store.accelerationX[i]);
+            hash = Hash.mix(hash, store.accelerationY[i]);
+        }
+
+        for(int i = 0; i < balls.size; i++)
+        {
+            hash = Hash.mix(hash, balls.get(i).stateTime);
+        }
+
+        hash = paddle1.hash(hash);
+        hash = paddle2.hash(hash);
+
+        return Hash.mix(hash, random.getState());
+    }
+
+    public EntityStore getStore()
+    {
+        return store;
+    }
+
+    public Ball getBall()
+    {
+        return ball;
+    }
+
+    public Array<Ball> getBalls()
+    {
+        return balls;
+    }
+
+    public Paddle getPaddle1()
+    {
+        return paddle1;
+    }
+
+    public Paddle getPaddle2()
+    {
+        return paddle2;
+    }
+
+    public Array<Block> getBorder()
+    {
+        return border;
+    }
+
+    public Array<Block> getWalls()
+    {
+        return walls;
+    }
+
+    /**
+     * Updates world with fixed time steps.
+     * Frame time is accumulated and simulated in steps of {@link Config#STEP_TIME}.
+     * Steps per frame are limited by {@link Config#MAX_STEPS}, remaining time of a long frame is dropped.
+     * @param delta is time span between the current and the last frame in seconds.
+     */
+    public void update(float delta)
+    {
+        accumulator += delta;
+        int steps = 0;
+
+        while(accumulator >= Config.STEP_TIME && steps < Config.MAX_STEPS)
+        {
+            step(Config.STEP_TIME);
+            accumulator -= Config.STEP_TIME;
+            steps++;
+        }
+
+        if(accumulator >= Config.STEP_TIME)
+        {
+            accumulator %= Config.STEP_TIME;
+        }
+    }
+
+    /**
+     * Simulates world for a single time step.
+     * Only ready and resumed states are simulated and counted as steps.
+     * @param delta is time step in seconds.
+     */
+    public void step(float delta)
+    {
+        store.savePrevious();
+
+        if(isResumed())
+        {
+            stepCount++;
+
+            for(int i = 0; i < balls.size; i++)
+            {
+                balls.get(i).update(delta);
+            }
+
+            if(grid != null)
+            {
+                collideBalls();
+            }
+
+            paddle1.update(delta);
+            paddle2.update(delta);
+        }
+        else if(isReady())
+        {
+            // Wait for 3 seconds on game start or touch to start.
+            stepCount++;
+            wait(delta, 3);
+        }
+    }
+
+    public void wait(float delta, int waitTime)
+    {
+        if(stateTime >= waitTime)
+        {
+            // Resumed by simulation, not recorded as an input.
+            stateTime = 0;
+            state = State.RESUME;
+        }
+        else
+        {
+            stateTime += delta;
+        }
+    }
+
+    /**
+     * Resolves collisions between balls in multi-ball mode.
+     * Updates cells of moved balls in the grid, then tests each ball only with balls in the same and neighbour cells.
+     */
+    private void collideBalls()
+    {
+        for(int i = 0; i < balls.size; i++)
+        {
+            grid.update(balls.get(i).getId());
+        }
+
+        for(int i = 0; i < balls.size; i++)
+        {
+            int id = balls.get(i).getId();
+            int column = grid.getColumn(id);
+            int row = grid.getRow(id);
+            int lastColumn = Math.min(grid.getColumns() - 1, column + 1);
+            int lastRow = Math.min(grid.getRows() - 1, row + 1);
+
+            for(int r = Math.max(0, row - 1); r <= lastRow; r++)
+            {
+                for(int c = Math.max(0, column - 1); c <= lastColumn; c++)
+                {
+                    for(int other = grid.first(c, r); other != -1; other = grid.next(other))
+                    {
+                        if(other > id)
+                        {
+                            collideBalls(id, other);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Separates two overlapping balls along the axis of smaller overlap.
+     * Balls with the same mass exchange their direction on that axis when they are moving to each other.
+     * @param a is id of a ball.
+     * @param b is id of other ball.
+     */
+    private void collideBalls(int a, int b)
+    {
+        float[] x = store.x;
+        float[] y = store.y;
+        float overlapX = Math.min(x[a] + store.width[a], x[b] + store.width[b]) - Math.max(x[a], x[b]);
+        float overlapY = Math.min(y[a] + store.height[a], y[b] + store.height[b]) - Math.max(y[a], y[b]);
+
+        if(overlapX <= 0 || overlapY <= 0)
+        {
+            return;
+        }
+
+        if(overlapX < overlapY)
+        {
+            float half = x[a] < x[b] ? -overlapX / 2 : overlapX / 2;
+            x[a] += half;
+            x[b] -= half;
+
+            if((x[a] < x[b]) == (store.velocityX[a] > store.velocityX[b]))
+            {
+                swap(store.velocityX, a, b);
+                swap(store.accelerationX, a, b);
+            }
+        }
+        else
+        {
+            float half = y[a] < y[b] ? -overlapY / 2 : overlapY / 2;
+            y[a] += half;
+            y[b] -= half;
+
+            if((y[a] < y[b]) == (store.velocityY[a] > store.velocityY[b]))
+            {
+                swap(store.velocityY, a, b);
+                swap(store.accelerationY, a, b);
+            }
+        }
+    }
+
+    private void swap(float[] column, int a, int b)
+    {
+        float value = column[a];
+        column[a] = column[b];
+        column[b] = value;
+    }
+
+    // World interface instance for models.
+    private IWorld iWorld = new IWorld()
+    {
+        @Override
+        public Ball getBall()
+        {
+            return ball;
+        }
+
+        @Override
+        public Array<Ball> getBalls()
+        {
+            return balls;
+        }
+
+        @Override
+        public Paddle getPaddle1()
+        {
+            return paddle1;
+        }
+
+        @Override
+        public Paddle getPaddle2()
+        {
+            return paddle2;
+        }
+
+        @Override
+        public Array<Block> getWalls()
+        {
+            return walls;
+        }
+
+        @Override
+        public float getHeight()
+        {
+            return height;
+        }
+
+        @Override
+        public Rules getRules()
+        {
+            return rules;
+        }
+
+        @Override
+        public SeededRandom getRandom()
+        {
+            return random;
+        }
+
+        @Override
+        public void points(Ball ball, int paddle)
+        {
+            World.this.points(ball, paddle);
+        }
+
+        @Override
+        public void playHitSound()
+        {
+            sound.playHit();
+
+            if(recorder != null)
+            {
+                recorder.hit(stepCount);
+            }
+        }
+
+        @Override
+        public void playHitWallSound()
+        {
+            sound.playHitWall();
+
+            if(recorder != null)
+            {
+                recorder.hitWall(stepCount);
+            }
+        }
+    };
+}
@@ -16,8 +16,6 @@
 
 package com.gokhankanber.android.pong.provider;
 
-import com.badlogic.gdx.Gdx;
-
 public class Config
 {
     public enum TextType
@@ -32,8 +30,24 @@ public class Config
         FILE
     }
 
+    public enum GameType
+    {
+        SINGLE_BALL,
+        MULTI_BALL
+    }
+
+    public enum CpuType
+    {
+        CHASE,
+        PREDICTIVE,
+        POLICY
+    }
+
     public static final Config.TextType TYPE_TEXT = TextType.TEXTURE;
     public static final Config.SoundType TYPE_SOUND = SoundType.WAVE;
+    public static final Config.GameType TYPE_GAME = GameType.SINGLE_BALL;
+    public static final Config.CpuType TYPE_CPU = CpuType.CHASE;
+    public static final int MULTI_BALL_COUNT = 200;
     public static final float WIDTH = 400;
     public static final float BLOCK = 8;
     public static final int MAX_POINTS = 10;
@@ -41,11 +55,19 @@ public class Config
     public static final float BALL_VELOCITY_RATIO = 0.1f;
     public static final int CPU_MIN_RANDOM_VALUE = 3;
     public static final int CPU_MAX_RANDOM_VALUE = 5;
-
-    public static float getHeight()
-    {
-        float ratio = (float) Gdx.graphics.getHeight() / Gdx.graphics.getWidth();
-
-        return WIDTH * ratio;
-    }
+    public static final float CPU_PREDICTION_ERROR = 12.0f;
+    public static final float CPU_PREDICTION_SPEED = 3.0f;
+    public static final float CPU_POLICY_SPEED = 3.0f;
+    public static final String CPU_POLICY_FILE = "cpu_policy.bin";
+    public static final float STEP_TIME = 1 / 60.0f;
+    public static final int MAX_STEPS = 5;
+    public static final float TIMED_FRAME_TIME = MAX_STEPS * STEP_TIME;
+    public static final boolean RECORD_REPLAY = false;
+    public static final String REPLAY_FILE = "replay.bin";
+    public static final boolean LOG_RENDER_METRICS = false;
+    public static final int RENDER_METRICS_LOG_FRAMES = 300;
+    public static final boolean SOAK = false;
+    public static final float SOAK_SAMPLE_TIME = 60;
+    public static final String SOAK_FILE = "soak.csv";
+    public static final String SOAK_SUMMARY_FILE = "soak_summary.txt";
 }
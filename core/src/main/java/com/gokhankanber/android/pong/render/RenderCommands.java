@@ -0,0 +1,222 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.render;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of render commands for a frame.
+ * Commands are kept in preallocated columns indexed by command order and replayed by a render backend.
+ * Resources are referred by handles of the render backend, which resolves them on replay.
+ * Commands make no OpenGL calls, so frames can be recorded, counted and validated without a GPU.
+ */
+public class RenderCommands
+{
+    // Command types
+    public static final byte QUAD = 0;
+    public static final byte RECT = 1;
+    public static final byte TEXT = 2;
+    public static final byte CACHE = 3;
+
+    // Handle of no resource
+    public static final int NONE = -1;
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    // Columns
+    private byte[] type;
+    private float[] x;
+    private float[] y;
+    private float[] width;
+    private float[] height;
+    private int[] value;
+    private int[] resource;
+    private CharSequence[] text;
+    private int size;
+
+    public RenderCommands()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RenderCommands(int capacity)
+    {
+        resize(Math.max(1, capacity));
+    }
+
+    /**
+     * Adds a texture region command.
+     * @param region is handle of texture region.
+     */
+    public void quad(int region, float x, float y, float width, float height)
+    {
+        int i = add(QUAD, x, y, width, height);
+        resource[i] = region;
+    }
+
+    /**
+     * Adds a filled rectangle command.
+     * @param color is rgba8888 color.
+     */
+    public void rect(float x, float y, float width, float height, int color)
+    {
+        int i = add(RECT, x, y, width, height);
+        value[i] = color;
+    }
+
+    /**
+     * Adds a text command.
+     * @param text to draw, it should not be changed until the frame is rendered.
+     * @param x is left of text.
+     * @param y is bottom of text for character cells, top of text for a font.
+     * @param size is character cell size, not used by a font.
+     * @param font is handle of font, {@link #NONE} to draw text with character cells.
+     */
+    public void text(CharSequence text, float x, float y, float size, int font)
+    {
+        int i = add(TEXT, x, y, size, size);
+        this.text[i] = text;
+        resource[i] = font;
+    }
+
+    /**
+     * Adds a cached geometry command drawn with a translation.
+     * @param cache is handle of sprite cache, contains cached geometry.
+     * @param id is id of cached geometry.
+     * @param sprites is number of sprites in cached geometry, kept in width column for metrics.
+     */
+    public void cache(int cache, int id, int sprites, float x, float y)
+    {
+        int i = add(CACHE, x, y, sprites, 0);
+        value[i] = id;
+        resource[i] = cache;
+    }
+
+    /**
+     * Removes all commands, capacity is kept.
+     */
+    public void clear()
+    {
+        Arrays.fill(text, 0, size, null);
+        size = 0;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public int capacity()
+    {
+        return type.length;
+    }
+
+    public byte getType(int i)
+    {
+        return type[i];
+    }
+
+    public float getX(int i)
+    {
+        return x[i];
+    }
+
+    public float getY(int i)
+    {
+        return y[i];
+    }
+
+    public float getWidth(int i)
+    {
+        return width[i];
+    }
+
+    public float getHeight(int i)
+    {
+        return height[i];
+    }
+
+    /**
+     * @return color of rect command or id of cache command.
+     */
+    public int getValue(int i)
+    {
+        return value[i];
+    }
+
+    /**
+     * @return handle of region of quad command, font of text command or cache of cache command.
+     */
+    public int getResource(int i)
+    {
+        return resource[i];
+    }
+
+    public CharSequence getText(int i)
+    {
+        return text[i];
+    }
+
+    /**
+     * Adds a command row.
+     * Columns grow by doubling when capacity is reached.
+     * @return index of the command.
+     */
+    private int add(byte type, float x, float y, float width, float height)
+    {
+        if(size == this.type.length)
+        {
+            resize(size * 2);
+        }
+
+        int i = size++;
+        this.type[i] = type;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.width[i] = width;
+        this.height[i] = height;
+        resource[i] = NONE;
+
+        return i;
+    }
+
+    private void resize(int capacity)
+    {
+        if(type == null)
+        {
+            type = new byte[capacity];
+            x = new float[capacity];
+            y = new float[capacity];
+            width = new float[capacity];
+            height = new float[capacity];
+            value = new int[capacity];
+            resource = new int[capacity];
+            text = new CharSequence[capacity];
+        }
+        else
+        {
+            type = Arrays.copyOf(type, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            width = Arrays.copyOf(width, capacity);
+            height = Arrays.copyOf(height, capacity);
+            value = Arrays.copyOf(value, capacity);
+            resource = Arrays.copyOf(resource, capacity);
+            text = Arrays.copyOf(text, capacity);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.render;
+
+import java.util.Locale;
+
+/**
+ * Render counters of the last frame and running aggregates of all frames.
+ * Counters are added by render backend and renderers during a frame and moved to the last frame on end of frame.
+ */
+public class RenderMetrics
+{
+    public enum Counter
+    {
+        COMMANDS,
+        RENDER_CALLS,
+        TEXTURE_BINDS,
+        VERTICES,
+        CACHE_REBUILDS,
+        BLEND_ENABLES
+    }
+
+    private static final Counter[] counters = Counter.values();
+
+    private final long[] current = new long[counters.length];
+    private final long[] last = new long[counters.length];
+    private final long[] total = new long[counters.length];
+    private final long[] max = new long[counters.length];
+    private long frames;
+
+    public void add(Counter counter, long value)
+    {
+        current[counter.ordinal()] += value;
+    }
+
+    /**
+     * Ends frame: sets last frame counters, adds them to totals and starts counting the next frame.
+     */
+    public void endFrame()
+    {
+        for(int i = 0; i < current.length; i++)
+        {
+            last[i] = current[i];
+            total[i] += current[i];
+            max[i] = Math.max(max[i], current[i]);
+            current[i] = 0;
+        }
+
+        frames++;
+    }
+
+    /**
+     * @return value of counter in the last frame.
+     */
+    public long get(Counter counter)
+    {
+        return last[counter.ordinal()];
+    }
+
+    /**
+     * @return sum of counter values of all frames.
+     */
+    public long getTotal(Counter counter)
+    {
+        return total[counter.ordinal()];
+    }
+
+    /**
+     * @return max value of counter in a frame.
+     */
+    public long getMax(Counter counter)
+    {
+        return max[counter.ordinal()];
+    }
+
+    /**
+     * @return average value of counter per frame.
+     */
+    public float getAverage(Counter counter)
+    {
+        return frames == 0 ? 0 : (float) total[counter.ordinal()] / frames;
+    }
+
+    public long getFrames()
+    {
+        return frames;
+    }
+
+    /**
+     * Resets all counters and aggregates.
+     */
+    public void reset()
+    {
+        for(int i = 0; i < current.length; i++)
+        {
+            current[i] = 0;
+            last[i] = 0;
+            total[i] = 0;
+            max[i] = 0;
+        }
+
+        frames = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("frames ").append(frames);
+
+        for(Counter counter : counters)
+        {
+            builder.append(", ")
+                    .append(counter.name().toLowerCase(Locale.US))
+                    .append(' ')
+                    .append(get(counter))
+                    .append(" (avg ")
+                    .append(getAverage(counter))
+                    .append(", max ")
+                    .append(getMax(counter))
+                    .append(')');
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.replay;
+
+/**
+ * Binary replay format.
+ * Header: magic, version, seed, height, ball count, rules, cpu flag of left paddle and cpu type.
+ * Records: type byte, step difference from previous record as a variable length integer and payload.
+ */
+final class Replay
+{
+    static final int MAGIC = 0x504F4E47;
+    static final int VERSION = 2;
+
+    // Record types
+    static final byte SEED = 1;
+    static final byte MOVE = 2;
+    static final byte PAUSE = 3;
+    static final byte RESUME = 4;
+    static final byte NEW_GAME = 5;
+    static final byte POINTS = 6;
+    static final byte HIT = 7;
+    static final byte HIT_WALL = 8;
+    static final byte END = 9;
+
+    // Max size of a record: type, step and long payload.
+    static final int MAX_RECORD_SIZE = 1 + 5 + 8;
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private Replay()
+    {
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.gokhankanber.android.pong.controller.game.Policy;
+import com.gokhankanber.android.pong.model.Hash;
+import com.gokhankanber.android.pong.model.IRecorder;
+import com.gokhankanber.android.pong.model.ISound;
+import com.gokhankanber.android.pong.model.Rules;
+import com.gokhankanber.android.pong.model.World;
+import com.gokhankanber.android.pong.provider.Config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Plays a recorded replay by creating a world from header and applying recorded inputs at recorded steps.
+ * Recorded score and collision events are compared with the events of simulated world to detect desync.
+ */
+public class ReplayPlayer implements IRecorder
+{
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(Replay.BUFFER_SIZE);
+    private final World world;
+    private boolean endOfChannel;
+    private boolean finished;
+    private float accumulator;
+
+    // Next record
+    private byte type;
+    private int step;
+
+    // Hashes of recorded and simulated events
+    private long recordedHash = Hash.SEED;
+    private long simulatedHash = Hash.SEED;
+    private int desyncStep = -1;
+
+    public ReplayPlayer(FileHandle file, ISound sound)
+    {
+        this(file, sound, null);
+    }
+
+    /**
+     * @param file to read replay.
+     * @param sound plays world sounds.
+     * @param cpuPolicy is action table of policy cpus, null if they are not used.
+     */
+    public ReplayPlayer(FileHandle file, ISound sound, Policy cpuPolicy)
+    {
+        this(Channels.newChannel(file.read()), sound, cpuPolicy);
+    }
+
+    /**
+     * Reads header and creates world of replay.
+     * Replay should be recorded with the current {@link Config#TYPE_CPU}.
+     * @param channel to read replay.
+     * @param sound plays world sounds.
+     * @param cpuPolicy is action table of policy cpus, null if they are not used.
+     */
+    public ReplayPlayer(ReadableByteChannel channel, ISound sound, Policy cpuPolicy)
+    {
+        this.channel = channel;
+        buffer.limit(0);
+        fill();
+
+        if(buffer.getInt() != Replay.MAGIC)
+        {
+            throw new GdxRuntimeException("Not a replay");
+        }
+
+        int version = buffer.getInt();
+
+        if(version != Replay.VERSION)
+        {
+            throw new GdxRuntimeException("Unsupported replay version: " + version);
+        }
+
+        long seed = buffer.getLong();
+        float height = buffer.getFloat();
+        int ballCount = buffer.getInt();
+        float ballAcceleration = buffer.getFloat();
+        float ballVelocityRatio = buffer.getFloat();
+        int cpuMinRandomValue = buffer.getInt();
+        int cpuMaxRandomValue = buffer.getInt();
+        boolean cpu = buffer.get() != 0;
+        int cpuType = buffer.get();
+
+        if(cpuType != Config.TYPE_CPU.ordinal())
+        {
+            // Cpus of world are created by the current cpu type.
+            throw new GdxRuntimeException("Replay cpu type " + cpuType + " is different from " + Config.TYPE_CPU);
+        }
+
+        world = new World(height, sound, new Rules(ballAcceleration, ballVelocityRatio, cpuMinRandomValue, cpuMaxRandomValue, cpuPolicy), ballCount);
+        world.setSeed(seed);
+
+        if(cpu)
+        {
+            world.getPaddle1().setCpu();
+        }
+
+        world.setRecorder(this);
+        next();
+    }
+
+    public World getWorld()
+    {
+        return world;
+    }
+
+    public boolean isFinished()
+    {
+        return finished;
+    }
+
+    /**
+     * @return true if recorded and simulated events are same so far.
+     */
+    public boolean isSynced()
+    {
+        return desyncStep < 0;
+    }
+
+    /**
+     * @return step of first different event or -1.
+     */
+    public int getDesyncStep()
+    {
+        return desyncStep;
+    }
+
+    /**
+     * Plays replay in real time with fixed time steps of world.
+     * @param delta is elapsed time in seconds.
+     */
+    public void play(float delta)
+    {
+        accumulator += delta;
+        int steps = 0;
+
+        while(accumulator >= Config.STEP_TIME && steps < Config.MAX_STEPS && !finished)
+        {
+            advance();
+            accumulator -= Config.STEP_TIME;
+            steps++;
+        }
+
+        if(accumulator >= Config.STEP_TIME)
+        {
+            accumulator %= Config.STEP_TIME;
+        }
+    }
+
+    /**
+     * Plays replay as fast as possible until end.
+     * @return number of simulated steps.
+     */
+    public int playAll()
+    {
+        int start = world.getStepCount();
+
+        while(!finished)
+        {
+            advance();
+        }
+
+        return world.getStepCount() - start;
+    }
+
+    /**
+     * Applies records of current step and simulates world for a single step.
+     */
+    public void advance()
+    {
+        while(!finished && step == world.getStepCount())
+        {
+            apply();
+            next();
+        }
+
+        if(recordedHash != simulatedHash && desyncStep < 0)
+        {
+            desyncStep = world.getStepCount();
+        }
+
+        if(finished)
+        {
+            return;
+        }
+
+        if(world.isResumed() || world.isReady())
+        {
+            world.step(Config.STEP_TIME);
+        }
+        else
+        {
+            // World is stopped but replay has records of later steps.
+            if(desyncStep < 0)
+            {
+                desyncStep = world.getStepCount();
+            }
+
+            finished = true;
+        }
+    }
+
+    public void close()
+    {
+        world.setRecorder(null);
+
+        try
+        {
+            channel.close();
+        }
+        catch(IOException e)
+        {
+            throw new GdxRuntimeException("Error closing replay", e);
+        }
+    }
+
+    /**
+     * Applies inputs to world and adds events to recorded hash.
+     */
+    private void apply()
+    {
+        switch(type)
+        {
+            case Replay.SEED:
+                world.setSeed(buffer.getLong());
+                break;
+            case Replay.MOVE:
+                world.move(buffer.getFloat());
+                break;
+            case Replay.PAUSE:
+                world.pause();
+                break;
+            case Replay.RESUME:
+                world.resume();
+                break;
+            case Replay.NEW_GAME:
+                world.newGame();
+                break;
+            case Replay.POINTS:
+                recordedHash = event(recordedHash, type, step, buffer.get());
+                break;
+            case Replay.HIT:
+            case Replay.HIT_WALL:
+                recordedHash = event(recordedHash, type, step, 0);
+                break;
+            case Replay.END:
+                finished = true;
+                break;
+            default:
+                throw new GdxRuntimeException("Unknown replay record: " + type);
+        }
+    }
+
+    /**
+     * Reads type and step of next record, payload is read by apply.
+     */
+    private void next()
+    {
+        if(buffer.remaining() < Replay.MAX_RECORD_SIZE)
+        {
+            fill();
+        }
+
+        if(!buffer.hasRemaining())
+        {
+            // Replay without end record, stream was not closed while recording.
+            finished = true;
+
+            return;
+        }
+
+        type = buffer.get();
+        int value = 0;
+        int shift = 0;
+        byte b;
+
+        do
+        {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        }
+        while((b & 0x80) != 0);
+
+        step += value;
+    }
+
+    /**
+     * Moves remaining bytes to start of buffer and reads from channel.
+     */
+    private void fill()
+    {
+        if(endOfChannel)
+        {
+            return;
+        }
+
+        buffer.compact();
+
+        try
+        {
+            while(buffer.hasRemaining())
+            {
+                if(channel.read(buffer) < 0)
+                {
+                    endOfChannel = true;
+                    break;
+                }
+            }
+        }
+        catch(IOException e)
+        {
+            throw new GdxRuntimeException("Error reading replay", e);
+        }
+
+        buffer.flip();
+    }
+
+    private long event(long hash, byte type, int step, int value)
+    {
+        hash = Hash.mix(hash, type);
+        hash = Hash.mix(hash, step);
+
+        return Hash.mix(hash, value);
+    }
+
+    @Override
+    public void seed(int step, long seed)
+    {
+    }
+
+    @Override
+    public void move(int step, float amount)
+    {
+    }
+
+    @Override
+    public void pause(int step)
+    {
+    }
+
+    @Override
+    public void resume(int step)
+    {
+    }
+
+    @Override
+    public void newGame(int step)
+    {
+    }
+
+    @Override
+    public void points(int step, int paddle)
+    {
+        simulatedHash = event(simulatedHash, Replay.POINTS, step, paddle);
+    }
+
+    @Override
+    public void hit(int step)
+    {
+        simulatedHash = event(simulatedHash, Replay.HIT, step, 0);
+    }
+
+    @Override
+    public void hitWall(int step)
+    {
+        simulatedHash = event(simulatedHash, Replay.HIT_WALL, step, 0);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.gokhankanber.android.pong.model.IRecorder;
+import com.gokhankanber.android.pong.model.Rules;
+import com.gokhankanber.android.pong.model.World;
+import com.gokhankanber.android.pong.provider.Config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Records inputs and events of world to a binary stream.
+ * Records are written to a preallocated buffer, buffer is written to channel when it is full.
+ */
+public class ReplayRecorder implements IRecorder
+{
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(Replay.BUFFER_SIZE);
+    private World world;
+    private int lastStep;
+
+    public ReplayRecorder(FileHandle file)
+    {
+        this(Channels.newChannel(file.write(false)));
+    }
+
+    public ReplayRecorder(WritableByteChannel channel)
+    {
+        this.channel = channel;
+    }
+
+    /**
+     * Writes header and starts recording world.
+     * Should be called after world is created and before it is simulated.
+     * @param world to record.
+     */
+    public void begin(World world)
+    {
+        this.world = world;
+        Rules rules = world.getRules();
+        buffer.putInt(Replay.MAGIC);
+        buffer.putInt(Replay.VERSION);
+        buffer.putLong(world.getSeed());
+        buffer.putFloat(world.getHeight());
+        buffer.putInt(world.getBallCount());
+        buffer.putFloat(rules.getBallAcceleration());
+        buffer.putFloat(rules.getBallVelocityRatio());
+        buffer.putInt(rules.getCpuMinRandomValue());
+        buffer.putInt(rules.getCpuMaxRandomValue());
+        buffer.put((byte) (world.getPaddle1().isCpu() ? 1 : 0));
+        buffer.put((byte) Config.TYPE_CPU.ordinal());
+        lastStep = world.getStepCount();
+        world.setRecorder(this);
+    }
+
+    /**
+     * Stops recording, writes end record and remaining buffer and closes channel.
+     */
+    public void close()
+    {
+        if(world != null)
+        {
+            world.setRecorder(null);
+            record(Replay.END, world.getStepCount());
+            world = null;
+        }
+
+        flush();
+
+        try
+        {
+            channel.close();
+        }
+        catch(IOException e)
+        {
+            throw new GdxRuntimeException("Error closing replay", e);
+        }
+    }
+
+    @Override
+    public void seed(int step, long seed)
+    {
+        record(Replay.SEED, step);
+        buffer.putLong(seed);
+    }
+
+    @Override
+    public void move(int step, float amount)
+    {
+        record(Replay.MOVE, step);
+        buffer.putFloat(amount);
+    }
+
+    @Override
+    public void pause(int step)
+    {
+        record(Replay.PAUSE, step);
+    }
+
+    @Override
+    public void resume(int step)
+    {
+        record(Replay.RESUME, step);
+    }
+
+    @Override
+    public void newGame(int step)
+    {
+        record(Replay.NEW_GAME, step);
+    }
+
+    @Override
+    public void points(int step, int paddle)
+    {
+        record(Replay.POINTS, step);
+        buffer.put((byte) paddle);
+    }
+
+    @Override
+    public void hit(int step)
+    {
+        record(Replay.HIT, step);
+    }
+
+    @Override
+    public void hitWall(int step)
+    {
+        record(Replay.HIT_WALL, step);
+    }
+
+    /**
+     * Writes type and step of a record, payload is written by caller.
+     * @param type is record type.
+     * @param step is step count of world.
+     */
+    private void record(byte type, int step)
+    {
+        if(buffer.remaining() < Replay.MAX_RECORD_SIZE)
+        {
+            flush();
+        }
+
+        buffer.put(type);
+        int value = step - lastStep;
+        lastStep = step;
+
+        // Variable length integer, 7 bits per byte.
+        while((value & ~0x7F) != 0)
+        {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+    }
+
+    private void flush()
+    {
+        buffer.flip();
+
+        try
+        {
+            while(buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+        }
+        catch(IOException e)
+        {
+            throw new GdxRuntimeException("Error writing replay", e);
+        }
+
+        buffer.clear();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.simulation;
+
+import com.gokhankanber.android.pong.model.Rules;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs independent headless cpu vs cpu matches on a fork-join pool.
+ * Every task has its own worlds and statistics, so matches run without shared state.
+ * Every match has its own seed, so results do not depend on the number of threads.
+ */
+public class BatchSimulator
+{
+    // Tasks per worker thread, more tasks balance uneven match durations.
+    private final int tasksPerThread = 8;
+
+    private final ForkJoinPool pool;
+    private final float height;
+    private final float step;
+    private final float maxTime;
+    private final long seed;
+
+    /**
+     * @param threads is number of worker threads.
+     * @param height is world height.
+     * @param step is simulation time step in seconds.
+     * @param maxTime is time limit of a match in seconds.
+     * @param seed is random seed of the first match, match i uses seed + i.
+     */
+    public BatchSimulator(int threads, float height, float step, float maxTime, long seed)
+    {
+        pool = new ForkJoinPool(threads);
+        this.height = height;
+        this.step = step;
+        this.maxTime = maxTime;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays matches with the specified rules.
+     * @param rules are gameplay values.
+     * @param matches is number of matches.
+     * @return merged statistics of all matches.
+     */
+    public Statistics run(Rules rules, int matches)
+    {
+        return run(rules, null, null, matches);
+    }
+
+    /**
+     * Plays matches of two cpu strategies with the specified rules.
+     * @param rules are gameplay values.
+     * @param strategy1 creates cpu of paddle 1, null for default cpus.
+     * @param strategy2 creates cpu of paddle 2, null for default cpus.
+     * @param matches is number of matches.
+     * @return merged statistics of all matches.
+     */
+    public Statistics run(Rules rules, Strategy strategy1, Strategy strategy2, int matches)
+    {
+        int threshold = Math.max(1, matches / (pool.getParallelism() * tasksPerThread));
+
+        return pool.invoke(new BatchTask(this, rules, strategy1, strategy2, 0, matches, threshold));
+    }
+
+    public void shutdown()
+    {
+        pool.shutdown();
+    }
+
+    public float getHeight()
+    {
+        return height;
+    }
+
+    public float getStep()
+    {
+        return step;
+    }
+
+    public float getMaxTime()
+    {
+        return maxTime;
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+}
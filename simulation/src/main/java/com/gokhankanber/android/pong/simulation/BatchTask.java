@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.simulation;
+
+import com.gokhankanber.android.pong.model.Rules;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join task for a range of matches.
+ * Splits the range until it is small enough, then plays matches with a single reused {@link Match}.
+ */
+public class BatchTask extends RecursiveTask<Statistics>
+{
+    private static final long serialVersionUID = 1L;
+    private final BatchSimulator simulator;
+    private final Rules rules;
+    private final Strategy strategy1;
+    private final Strategy strategy2;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    public BatchTask(BatchSimulator simulator, Rules rules, Strategy strategy1, Strategy strategy2, int from, int to, int threshold)
+    {
+        this.simulator = simulator;
+        this.rules = rules;
+        this.strategy1 = strategy1;
+        this.strategy2 = strategy2;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected Statistics compute()
+    {
+        if(to - from <= threshold)
+        {
+            Statistics statistics = new Statistics();
+            Match match = strategy1 == null
+                    ? new Match(simulator.getHeight(), rules, simulator.getStep(), simulator.getMaxTime())
+                    : new Match(simulator.getHeight(), rules, simulator.getStep(), simulator.getMaxTime(), strategy1, strategy2);
+
+            for(int i = from; i < to; i++)
+            {
+                match.play(statistics, simulator.getSeed() + i);
+            }
+
+            return statistics;
+        }
+
+        int middle = (from + to) >>> 1;
+        BatchTask left = new BatchTask(simulator, rules, strategy1, strategy2, from, middle, threshold);
+        BatchTask right = new BatchTask(simulator, rules, strategy1, strategy2, middle, to, threshold);
+        left.fork();
+        Statistics statistics = right.compute();
+        statistics.merge(left.join());
+
+        return statistics;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.simulation;
+
+import com.gokhankanber.android.pong.model.HeadlessWorld;
+import com.gokhankanber.android.pong.model.World;
+
+/**
+ * Verifies deterministic simulation.
+ * Runs two cpu vs cpu worlds with the same seed for a number of fixed steps and compares hashes of their states.
+ *
+ * Options: --seed 1, --steps 100000, --balls 1, --expect hash of a previous run in hex.
+ * Exits with status 1 when hashes are different.
+ */
+public class DeterminismCheck
+{
+    private long seed = 1;
+    private int steps = 100000;
+    private int balls = 1;
+    private String expect;
+
+    public static void main(String[] args)
+    {
+        DeterminismCheck check = new DeterminismCheck();
+        check.parse(args);
+        System.exit(check.run() ? 0 : 1);
+    }
+
+    private void parse(String[] args)
+    {
+        for(int i = 0; i + 1 < args.length; i += 2)
+        {
+            String value = args[i + 1];
+
+            switch(args[i])
+            {
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--steps":
+                    steps = Integer.parseInt(value);
+                    break;
+                case "--balls":
+                    balls = Integer.parseInt(value);
+                    break;
+                case "--expect":
+                    expect = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+    }
+
+    private boolean run()
+    {
+        long hash1 = simulate();
+        long hash2 = simulate();
+        String hash = Long.toHexString(hash1);
+        System.out.println("seed " + seed + ", steps " + steps + ", balls " + balls + ": " + hash);
+
+        if(hash1 != hash2)
+        {
+            System.out.println("Different hash in second run: " + Long.toHexString(hash2));
+
+            return false;
+        }
+
+        if(expect != null && !expect.equalsIgnoreCase(hash))
+        {
+            System.out.println("Expected hash: " + expect);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Simulates a new world, starts a new game when a game ends.
+     * @return hash of world state after all steps.
+     */
+    private long simulate()
+    {
+        World world = HeadlessWorld.create(seed, balls);
+        HeadlessWorld.start(world);
+        HeadlessWorld.run(world, steps);
+
+        return world.hash();
+    }
+}
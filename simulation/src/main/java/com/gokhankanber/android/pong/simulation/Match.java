@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.simulation;
+
+import com.gokhankanber.android.pong.model.ISound;
+import com.gokhankanber.android.pong.model.Rules;
+import com.gokhankanber.android.pong.model.World;
+
+/**
+ * Cpu vs cpu match without rendering.
+ * Counts paddle hits of rallies by listening world sounds.
+ * A match instance is reused for the matches of a task.
+ * Paddles use default cpus or the cpus of the given strategies.
+ */
+public class Match implements ISound
+{
+    private final World world;
+    private final float step;
+    private final float maxTime;
+    private Statistics statistics;
+    private int rallyHits;
+
+    /**
+     * @param height is world height.
+     * @param rules are gameplay values.
+     * @param step is simulation time step in seconds.
+     * @param maxTime is time limit of a match in seconds.
+     */
+    public Match(float height, Rules rules, float step, float maxTime)
+    {
+        this.step = step;
+        this.maxTime = maxTime;
+        world = new World(height, this, rules);
+        world.getPaddle1().setCpu();
+    }
+
+    /**
+     * @param height is world height.
+     * @param rules are gameplay values.
+     * @param step is simulation time step in seconds.
+     * @param maxTime is time limit of a match in seconds.
+     * @param strategy1 creates cpu of paddle 1.
+     * @param strategy2 creates cpu of paddle 2.
+     */
+    public Match(float height, Rules rules, float step, float maxTime, Strategy strategy1, Strategy strategy2)
+    {
+        this(height, rules, step, maxTime);
+        world.getPaddle1().setCpu(strategy1.create(world.getPaddle1()));
+        world.getPaddle2().setCpu(strategy2.create(world.getPaddle2()));
+    }
+
+    /**
+     * Plays a new match until end or time limit.
+     * @param statistics to add match and rally results.
+     * @param seed is random seed of match.
+     */
+    public void play(Statistics statistics, long seed)
+    {
+        this.statistics = statistics;
+        world.setSeed(seed);
+        world.newGame();
+        world.resume();
+        rallyHits = 0;
+
+        float time = 0;
+        int steps = 0;
+
+        while(!world.isEnding() && time < maxTime)
+        {
+            world.step(step);
+            time += step;
+            steps++;
+        }
+
+        statistics.addMatch(world.isEnding(), world.getPaddle1().points, world.getPaddle2().points, time, steps);
+    }
+
+    @Override
+    public void playHit()
+    {
+        rallyHits++;
+    }
+
+    @Override
+    public void playHitWall()
+    {
+    }
+
+    @Override
+    public void playPoints()
+    {
+        statistics.addRally(rallyHits);
+        rallyHits = 0;
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.simulation;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.gokhankanber.android.pong.controller.game.ICpu;
+import com.gokhankanber.android.pong.controller.game.Policy;
+import com.gokhankanber.android.pong.model.HeadlessWorld;
+import com.gokhankanber.android.pong.model.IWorld;
+import com.gokhankanber.android.pong.model.Paddle;
+import com.gokhankanber.android.pong.model.Rules;
+import com.gokhankanber.android.pong.model.SeededRandom;
+import com.gokhankanber.android.pong.model.World;
+import com.gokhankanber.android.pong.provider.Config;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * Trains a cpu {@link Policy} with tabular Q-learning over headless world steps.
+ * Learners share the table and move paddles of both sides against an opponent strategy in two worlds.
+ * Reward is 1 for a point of learner and -1 for a point of opponent.
+ * Greedy actions of the trained table are written as a policy file and evaluated against the opponent.
+ *
+ * Options: --steps 20000000, --opponent chase:3:5, --speed cpu policy speed, --alpha 0.1, --gamma 0.99,
+ * --epsilon 0.2, --seed 1, --height 16:9 height, --matches 2000 evaluation matches, --out cpu_policy.bin.
+ */
+public class PolicyTrainer
+{
+    // Actions: down, stay, up
+    private static final int ACTIONS = 3;
+
+    private long steps = 20000000;
+    private Strategy opponent = Strategy.chase(Config.CPU_MIN_RANDOM_VALUE, Config.CPU_MAX_RANDOM_VALUE);
+    private float speed = Config.CPU_POLICY_SPEED;
+    private float alpha = 0.1f;
+    private float gamma = 0.99f;
+    private float epsilon = 0.2f;
+    private long seed = 1;
+    private float height = HeadlessWorld.HEIGHT;
+    private int matches = 2000;
+    private String out = Config.CPU_POLICY_FILE;
+
+    // Action values of each state and action
+    private float[] values;
+
+    public static void main(String[] args)
+    {
+        PolicyTrainer trainer = new PolicyTrainer();
+        trainer.parse(args);
+        trainer.run();
+    }
+
+    private void parse(String[] args)
+    {
+        for(int i = 0; i + 1 < args.length; i += 2)
+        {
+            String value = args[i + 1];
+
+            switch(args[i])
+            {
+                case "--steps":
+                    steps = Long.parseLong(value);
+                    break;
+                case "--opponent":
+                    opponent = Strategy.parse(value);
+                    break;
+                case "--speed":
+                    speed = Float.parseFloat(value);
+                    break;
+                case "--alpha":
+                    alpha = Float.parseFloat(value);
+                    break;
+                case "--gamma":
+                    gamma = Float.parseFloat(value);
+                    break;
+                case "--epsilon":
+                    epsilon = Float.parseFloat(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--height":
+                    height = Float.parseFloat(value);
+                    break;
+                case "--matches":
+                    matches = Integer.parseInt(value);
+                    break;
+                case "--out":
+                    out = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+    }
+
+    private void run()
+    {
+        long start = System.nanoTime();
+        train();
+        Policy policy = greedyPolicy();
+        policy.save(new FileHandle(new File(out)));
+        System.out.println(String.format(Locale.US, "Trained %d steps in %d ms, policy written to %s",
+                steps, (System.nanoTime() - start) / 1000000, out));
+        evaluate(policy);
+    }
+
+    /**
+     * Runs learners against opponent, starts a new game when a game ends.
+     * Serve is not symmetric, so learners play on both sides.
+     */
+    private void train()
+    {
+        values = new float[Policy.STATES * ACTIONS];
+        SeededRandom random = new SeededRandom(seed);
+        World[] worlds = new World[2];
+        Learner[] learners = new Learner[2];
+
+        for(int i = 0; i < worlds.length; i++)
+        {
+            // Default cpus are replaced, policy cpus don't need a trained policy here.
+            World world = HeadlessWorld.create(height, new Rules(new Policy()), seed + i, 1);
+            Paddle learnerPaddle = i == 0 ? world.getPaddle2() : world.getPaddle1();
+            Paddle opponentPaddle = i == 0 ? world.getPaddle1() : world.getPaddle2();
+            learners[i] = new Learner(learnerPaddle, random);
+            learnerPaddle.setCpu(learners[i]);
+            opponentPaddle.setCpu(opponent.create(opponentPaddle));
+            world.newGame();
+            world.resume();
+            worlds[i] = world;
+        }
+
+        for(long step = 0; step < steps; step++)
+        {
+            World world = worlds[(int) (step & 1)];
+
+            // Exploration decreases linearly to a tenth.
+            learners[(int) (step & 1)].epsilon = epsilon * (1 - 0.9f * step / steps);
+            world.step(Config.STEP_TIME);
+
+            if(world.isEnding())
+            {
+                world.newGame();
+                world.resume();
+            }
+        }
+    }
+
+    /**
+     * @return policy of the best action of each state, states with equal values stay.
+     */
+    private Policy greedyPolicy()
+    {
+        Policy policy = new Policy();
+
+        for(int state = 0; state < Policy.STATES; state++)
+        {
+            policy.setAction(state, best(state) - 1);
+        }
+
+        return policy;
+    }
+
+    private int best(int state)
+    {
+        int offset = state * ACTIONS;
+        int best = 1;
+
+        for(int action = 0; action < ACTIONS; action++)
+        {
+            if(values[offset + action] > values[offset + best])
+            {
+                best = action;
+            }
+        }
+
+        return best;
+    }
+
+    private float max(int state)
+    {
+        return values[state * ACTIONS + best(state)];
+    }
+
+    /**
+     * Plays trained policy against opponent on both sides and prints its win rate.
+     * @param policy is trained policy.
+     */
+    private void evaluate(Policy policy)
+    {
+        Strategy learned = Strategy.policy(policy, out, speed);
+        BatchSimulator simulator = new BatchSimulator(Runtime.getRuntime().availableProcessors(), height, Config.STEP_TIME, 600, seed);
+
+        try
+        {
+            Rules rules = new Rules(policy);
+            Statistics first = simulator.run(rules, learned, opponent, matches / 2);
+            Statistics second = simulator.run(rules, opponent, learned, matches - matches / 2);
+            long wins = first.getWins1() + second.getWins2();
+            long finished = wins + first.getWins2() + second.getWins1();
+            Statistics statistics = new Statistics();
+            statistics.merge(first);
+            statistics.merge(second);
+
+            System.out.println(String.format(Locale.US, "%s vs %s: win rate %.4f [%.4f, %.4f] of %d, mean rally hits %.3f",
+                    learned,
+                    opponent,
+                    finished == 0 ? 0 : (double) wins / finished,
+                    Statistics.wilson(wins, finished, false),
+                    Statistics.wilson(wins, finished, true),
+                    finished,
+                    statistics.getMeanRallyHits()));
+        }
+        finally
+        {
+            simulator.shutdown();
+        }
+    }
+
+    /**
+     * Epsilon-greedy cpu which updates action values on each move.
+     * Reward of the last action is found by changes of points.
+     */
+    private class Learner implements ICpu
+    {
+        private final Paddle paddle;
+        private final IWorld iWorld;
+        private final Paddle opponentPaddle;
+        private final SeededRandom random;
+        private final int direction;
+        private float epsilon;
+
+        private int lastState = -1;
+        private int lastAction;
+        private int points;
+        private int opponentPoints;
+
+        Learner(Paddle paddle, SeededRandom random)
+        {
+            this.paddle = paddle;
+            this.random = random;
+            iWorld = paddle.getListener();
+            direction = paddle.getDirection();
+            opponentPaddle = direction > 0 ? iWorld.getPaddle1() : iWorld.getPaddle2();
+        }
+
+        @Override
+        public void move(float delta)
+        {
+            int state = Policy.index(iWorld, paddle, paddle.getTargetBall(), direction);
+            float reward = 0;
+
+            if(opponentPaddle.points > opponentPoints)
+            {
+                reward = -1;
+            }
+            else if(paddle.points > points)
+            {
+                reward = 1;
+            }
+
+            opponentPoints = opponentPaddle.points;
+            points = paddle.points;
+
+            if(lastState >= 0)
+            {
+                int index = lastState * ACTIONS + lastAction;
+                values[index] += alpha * (reward + gamma * max(state) - values[index]);
+            }
+
+            int action = random.nextInt(1 << 24) < epsilon * (1 << 24) ? random.nextInt(ACTIONS) : best(state);
+            lastState = state;
+            lastAction = action;
+
+            float distance = (action - 1) * iWorld.getRules().getBallAcceleration() * speed * delta;
+            paddle.setVelocityY(distance);
+            paddle.setPositionY(paddle.getY() + distance);
+            paddle.checkWorld();
+        }
+
+        @Override
+        public void reset()
+        {
+            lastState = -1;
+            points = 0;
+            opponentPoints = 0;
+        }
+
+        @Override
+        public int getSnapshotSize()
+        {
+            return 0;
+        }
+
+        @Override
+        public void save(ByteBuffer buffer)
+        {
+        }
+
+        @Override
+        public void restore(ByteBuffer buffer)
+        {
+        }
+
+        @Override
+        public long hash(long hash)
+        {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.simulation;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.gokhankanber.android.pong.model.HeadlessWorld;
+import com.gokhankanber.android.pong.model.SilentSound;
+import com.gokhankanber.android.pong.model.World;
+import com.gokhankanber.android.pong.replay.ReplayPlayer;
+import com.gokhankanber.android.pong.replay.ReplayRecorder;
+
+import java.io.File;
+
+/**
+ * Records and plays replays without rendering.
+ * Recording runs a cpu vs cpu world with the given seed, playing runs a replay as fast as possible and reports sync.
+ *
+ * Options: --record file or --play file, --seed 1, --steps 100000, --balls 1.
+ * Exits with status 1 when a played replay is out of sync.
+ */
+public class ReplayMain
+{
+    private String record;
+    private String play;
+    private long seed = 1;
+    private int steps = 100000;
+    private int balls = 1;
+
+    public static void main(String[] args)
+    {
+        ReplayMain main = new ReplayMain();
+        main.parse(args);
+
+        if(main.record != null)
+        {
+            main.record();
+        }
+
+        if(main.play != null && !main.play())
+        {
+            System.exit(1);
+        }
+    }
+
+    private void parse(String[] args)
+    {
+        for(int i = 0; i + 1 < args.length; i += 2)
+        {
+            String value = args[i + 1];
+
+            switch(args[i])
+            {
+                case "--record":
+                    record = value;
+                    break;
+                case "--play":
+                    play = value;
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--steps":
+                    steps = Integer.parseInt(value);
+                    break;
+                case "--balls":
+                    balls = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+    }
+
+    /**
+     * Records a cpu vs cpu world, starts a new game when a game ends.
+     */
+    private void record()
+    {
+        World world = HeadlessWorld.create(seed, balls);
+        ReplayRecorder recorder = new ReplayRecorder(new FileHandle(new File(record)));
+        recorder.begin(world);
+        HeadlessWorld.start(world);
+        HeadlessWorld.run(world, steps);
+
+        recorder.close();
+        System.out.println("Recorded " + steps + " steps to " + record + ": " + Long.toHexString(world.hash()));
+    }
+
+    private boolean play()
+    {
+        ReplayPlayer player = new ReplayPlayer(new FileHandle(new File(play)), SilentSound.INSTANCE, HeadlessWorld.getCpuPolicy());
+        long start = System.nanoTime();
+        int count = player.playAll();
+        long time = System.nanoTime() - start;
+        player.close();
+        System.out.println("Played " + count + " steps in " + time / 1000000 + " ms: " + Long.toHexString(player.getWorld().hash()));
+
+        if(!player.isSynced())
+        {
+            System.out.println("Out of sync at step " + player.getDesyncStep());
+
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.simulation;
+
+import com.gokhankanber.android.pong.model.HeadlessWorld;
+import com.gokhankanber.android.pong.model.Rules;
+import com.gokhankanber.android.pong.provider.Config;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Command line entry point of batch simulation.
+ * Plays cpu vs cpu matches for every combination of the given gameplay values and writes a CSV row per combination.
+ *
+ * Options (lists are comma separated):
+ * --matches 10000, --threads cores, --step 1/60, --height 16:9 height, --max-time 600, --seed 1, --out results.csv,
+ * --ball-acceleration list, --ball-velocity-ratio list, --cpu-min list, --cpu-max list.
+ */
+public class SimulationMain
+{
+    private static final String HEADER = "ball_acceleration,ball_velocity_ratio,cpu_min,cpu_max,matches,unfinished,"
+            + "wins1,wins2,points1,points2,rallies,mean_rally_hits,max_rally_hits,mean_match_time,steps,"
+            + "wall_time_ms,rallies_per_minute";
+
+    private int matches = 10000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private float step = Config.STEP_TIME;
+    private float height = Config.WIDTH * 16 / 9;
+    private float maxTime = 600;
+    private long seed = 1;
+    private String out = "results.csv";
+    private float[] ballAccelerations = {Config.BALL_ACCELERATION};
+    private float[] ballVelocityRatios = {Config.BALL_VELOCITY_RATIO};
+    private float[] cpuMinValues = {Config.CPU_MIN_RANDOM_VALUE};
+    private float[] cpuMaxValues = {Config.CPU_MAX_RANDOM_VALUE};
+
+    public static void main(String[] args) throws IOException
+    {
+        SimulationMain main = new SimulationMain();
+        main.parse(args);
+        main.run();
+    }
+
+    private void parse(String[] args)
+    {
+        for(int i = 0; i + 1 < args.length; i += 2)
+        {
+            String value = args[i + 1];
+
+            switch(args[i])
+            {
+                case "--matches":
+                    matches = Integer.parseInt(value);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--step":
+                    step = Float.parseFloat(value);
+                    break;
+                case "--height":
+                    height = Float.parseFloat(value);
+                    break;
+                case "--max-time":
+                    maxTime = Float.parseFloat(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--out":
+                    out = value;
+                    break;
+                case "--ball-acceleration":
+                    ballAccelerations = parseList(value);
+                    break;
+                case "--ball-velocity-ratio":
+                    ballVelocityRatios = parseList(value);
+                    break;
+                case "--cpu-min":
+                    cpuMinValues = parseList(value);
+                    break;
+                case "--cpu-max":
+                    cpuMaxValues = parseList(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+    }
+
+    private float[] parseList(String value)
+    {
+        String[] items = value.split(",");
+        float[] values = new float[items.length];
+
+        for(int i = 0; i < items.length; i++)
+        {
+            values[i] = Float.parseFloat(items[i].trim());
+        }
+
+        return values;
+    }
+
+    /**
+     * Runs matches for each combination of gameplay values and writes results.
+     */
+    private void run() throws IOException
+    {
+        BatchSimulator simulator = new BatchSimulator(threads, height, step, maxTime, seed);
+
+        try(PrintWriter writer = new PrintWriter(new FileWriter(out)))
+        {
+            writer.println(HEADER);
+
+            for(float ballAcceleration : ballAccelerations)
+            {
+                for(float ballVelocityRatio : ballVelocityRatios)
+                {
+                    for(float cpuMin : cpuMinValues)
+                    {
+                        for(float cpuMax : cpuMaxValues)
+                        {
+                            if(cpuMin > cpuMax)
+                            {
+                                continue;
+                            }
+
+                            Rules rules = new Rules(ballAcceleration, ballVelocityRatio, (int) cpuMin, (int) cpuMax, HeadlessWorld.getCpuPolicy());
+                            long start = System.nanoTime();
+                            Statistics statistics = simulator.run(rules, matches);
+                            long time = (System.nanoTime() - start) / 1000000;
+                            String row = row(rules, statistics, time);
+                            writer.println(row);
+                            System.out.println(row);
+                        }
+                    }
+                }
+            }
+        }
+        finally
+        {
+            simulator.shutdown();
+        }
+    }
+
+    private String row(Rules rules, Statistics statistics, long time)
+    {
+        return String.format(Locale.US, "%s,%s,%d,%d,%d,%d,%d,%d,%d,%d,%d,%.3f,%d,%.3f,%d,%d,%.0f",
+                rules.getBallAcceleration(),
+                rules.getBallVelocityRatio(),
+                rules.getCpuMinRandomValue(),
+                rules.getCpuMaxRandomValue(),
+                statistics.getMatches(),
+                statistics.getUnfinished(),
+                statistics.getWins1(),
+                statistics.getWins2(),
+                statistics.getPoints1(),
+                statistics.getPoints2(),
+                statistics.getRallies(),
+                statistics.getMeanRallyHits(),
+                statistics.getMaxRallyHits(),
+                statistics.getMeanMatchTime(),
+                statistics.getSteps(),
+                time,
+                statistics.getRallies() * 60000.0 / Math.max(1, time));
+    }
+}
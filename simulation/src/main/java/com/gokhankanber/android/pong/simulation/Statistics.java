@@ -0,0 +1,195 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.simulation;
+
+/**
+ * Results of simulated matches.
+ * Each task fills its own instance, instances are merged after tasks are joined.
+ */
+public class Statistics
+{
+    // Normal quantile of 95% confidence
+    private static final double Z = 1.96;
+
+    private long matches;
+    private long unfinished;
+    private long wins1;
+    private long wins2;
+    private long points1;
+    private long points2;
+    private long rallies;
+    private long rallyHits;
+    private long rallyHitsSquares;
+    private int maxRallyHits;
+    private long steps;
+    private double matchTime;
+
+    /**
+     * Adds a finished rally.
+     * @param hits is number of paddle hits in rally.
+     */
+    public void addRally(int hits)
+    {
+        rallies++;
+        rallyHits += hits;
+        rallyHitsSquares += (long) hits * hits;
+
+        if(hits > maxRallyHits)
+        {
+            maxRallyHits = hits;
+        }
+    }
+
+    /**
+     * Adds a match.
+     * @param finished is false when match is stopped by time limit.
+     * @param paddle1Points is score of paddle 1.
+     * @param paddle2Points is score of paddle 2.
+     * @param time is simulated match time in seconds.
+     * @param stepCount is number of simulation steps.
+     */
+    public void addMatch(boolean finished, int paddle1Points, int paddle2Points, float time, int stepCount)
+    {
+        matches++;
+        points1 += paddle1Points;
+        points2 += paddle2Points;
+        matchTime += time;
+        steps += stepCount;
+
+        if(!finished)
+        {
+            unfinished++;
+        }
+        else if(paddle1Points > paddle2Points)
+        {
+            wins1++;
+        }
+        else
+        {
+            wins2++;
+        }
+    }
+
+    public void merge(Statistics statistics)
+    {
+        matches += statistics.matches;
+        unfinished += statistics.unfinished;
+        wins1 += statistics.wins1;
+        wins2 += statistics.wins2;
+        points1 += statistics.points1;
+        points2 += statistics.points2;
+        rallies += statistics.rallies;
+        rallyHits += statistics.rallyHits;
+        rallyHitsSquares += statistics.rallyHitsSquares;
+        maxRallyHits = Math.max(maxRallyHits, statistics.maxRallyHits);
+        steps += statistics.steps;
+        matchTime += statistics.matchTime;
+    }
+
+    public long getMatches()
+    {
+        return matches;
+    }
+
+    public long getUnfinished()
+    {
+        return unfinished;
+    }
+
+    public long getWins1()
+    {
+        return wins1;
+    }
+
+    public long getWins2()
+    {
+        return wins2;
+    }
+
+    public long getPoints1()
+    {
+        return points1;
+    }
+
+    public long getPoints2()
+    {
+        return points2;
+    }
+
+    public long getRallies()
+    {
+        return rallies;
+    }
+
+    public double getMeanRallyHits()
+    {
+        return rallies == 0 ? 0 : (double) rallyHits / rallies;
+    }
+
+    /**
+     * @return half width of 95% confidence interval of mean rally hits.
+     */
+    public double getRallyHitsInterval()
+    {
+        if(rallies < 2)
+        {
+            return 0;
+        }
+
+        double mean = getMeanRallyHits();
+        double variance = Math.max(0, ((double) rallyHitsSquares - rallies * mean * mean) / (rallies - 1));
+
+        return Z * Math.sqrt(variance / rallies);
+    }
+
+    /**
+     * Calculates Wilson score interval of a win rate.
+     * @param wins is number of wins.
+     * @param games is number of finished matches.
+     * @param upper selects upper or lower bound.
+     * @return bound of 95% confidence interval.
+     */
+    public static double wilson(long wins, long games, boolean upper)
+    {
+        if(games == 0)
+        {
+            return upper ? 1 : 0;
+        }
+
+        double rate = (double) wins / games;
+        double z2 = Z * Z;
+        double center = rate + z2 / (2 * games);
+        double margin = Z * Math.sqrt(rate * (1 - rate) / games + z2 / (4.0 * games * games));
+
+        return (center + (upper ? margin : -margin)) / (1 + z2 / games);
+    }
+
+    public int getMaxRallyHits()
+    {
+        return maxRallyHits;
+    }
+
+    public long getSteps()
+    {
+        return steps;
+    }
+
+    public double getMeanMatchTime()
+    {
+        return matches == 0 ? 0 : matchTime / matches;
+    }
+}
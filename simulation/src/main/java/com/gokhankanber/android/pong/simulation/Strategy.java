@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.simulation;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.gokhankanber.android.pong.controller.game.Cpu;
+import com.gokhankanber.android.pong.controller.game.ICpu;
+import com.gokhankanber.android.pong.controller.game.Policy;
+import com.gokhankanber.android.pong.controller.game.PolicyCpu;
+import com.gokhankanber.android.pong.controller.game.PredictiveCpu;
+import com.gokhankanber.android.pong.model.Paddle;
+
+import java.io.File;
+
+/**
+ * Cpu strategy with its parameters, creates a cpu for a paddle of each match.
+ * Strategies are parsed from names: chase:min:max, predictive:error:speed or policy:file:speed.
+ */
+public abstract class Strategy
+{
+    private final String name;
+
+    protected Strategy(String name)
+    {
+        this.name = name;
+    }
+
+    /**
+     * Creates cpu for paddle, listener of paddle is set.
+     * @param paddle is cpu paddle.
+     * @return new cpu.
+     */
+    public abstract ICpu create(Paddle paddle);
+
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+
+    /**
+     * @param minRandomValue is min limit of random velocity value.
+     * @param maxRandomValue is max limit of random velocity value.
+     * @return random velocity chaser strategy.
+     */
+    public static Strategy chase(final int minRandomValue, final int maxRandomValue)
+    {
+        return new Strategy("chase:" + minRandomValue + ":" + maxRandomValue)
+        {
+            @Override
+            public ICpu create(Paddle paddle)
+            {
+                return new Cpu(paddle, minRandomValue, maxRandomValue);
+            }
+        };
+    }
+
+    /**
+     * @param error is maximum distance between the intercept and paddle center target.
+     * @param speed is paddle speed by ratio of ball acceleration.
+     * @return predictive strategy.
+     */
+    public static Strategy predictive(final float error, final float speed)
+    {
+        return new Strategy("predictive:" + error + ":" + speed)
+        {
+            @Override
+            public ICpu create(Paddle paddle)
+            {
+                return new PredictiveCpu(paddle, error, speed);
+            }
+        };
+    }
+
+    /**
+     * @param policy is action table shared by cpus.
+     * @param file is name of policy file.
+     * @param speed is paddle speed by ratio of ball acceleration.
+     * @return lookup table strategy.
+     */
+    public static Strategy policy(final Policy policy, String file, final float speed)
+    {
+        return new Strategy("policy:" + file + ":" + speed)
+        {
+            @Override
+            public ICpu create(Paddle paddle)
+            {
+                return new PolicyCpu(paddle, policy, speed);
+            }
+        };
+    }
+
+    /**
+     * @param name is chase:min:max, predictive:error:speed or policy:file:speed.
+     * @return strategy of name.
+     */
+    public static Strategy parse(String name)
+    {
+        String[] items = name.trim().split(":");
+
+        if(items.length == 3)
+        {
+            switch(items[0])
+            {
+                case "chase":
+                    return chase(Integer.parseInt(items[1]), Integer.parseInt(items[2]));
+                case "predictive":
+                    return predictive(Float.parseFloat(items[1]), Float.parseFloat(items[2]));
+                case "policy":
+                    return policy(Policy.load(new FileHandle(new File(items[1]))), items[1], Float.parseFloat(items[2]));
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.android.pong.simulation;
+
+import com.gokhankanber.android.pong.model.HeadlessWorld;
+import com.gokhankanber.android.pong.model.Rules;
+import com.gokhankanber.android.pong.provider.Config;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Command line entry point of cpu strategy tournament.
+ * Plays a round-robin of cpu strategies, every pairing plays half of its matches with swapped sides.
+ * Writes a CSV row per pairing with win rates, Wilson score intervals and mean rally hits, then prints standings.
+ *
+ * Options: --strategies comma separated list of chase:min:max, predictive:error:speed and policy:file:speed,
+ * --matches 2000 per pairing, --threads cores, --step 1/60, --height 16:9 height, --max-time 600, --seed 1,
+ * --out tournament.csv.
+ */
+public class TournamentMain
+{
+    private static final String HEADER = "strategy1,strategy2,matches,unfinished,wins1,wins2,win_rate1,win_rate1_low,"
+            + "win_rate1_high,rallies,mean_rally_hits,mean_rally_hits_interval,mean_match_time,wall_time_ms";
+
+    private int matches = 2000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private float step = Config.STEP_TIME;
+    private float height = Config.WIDTH * 16 / 9;
+    private float maxTime = 600;
+    private long seed = 1;
+    private String out = "tournament.csv";
+    private Strategy[] strategies = {
+            Strategy.chase(Config.CPU_MIN_RANDOM_VALUE, Config.CPU_MAX_RANDOM_VALUE),
+            Strategy.chase(1, 3),
+            Strategy.predictive(Config.CPU_PREDICTION_ERROR, Config.CPU_PREDICTION_SPEED),
+            Strategy.predictive(Config.CPU_PREDICTION_ERROR * 2, Config.CPU_PREDICTION_SPEED)
+    };
+
+    // Standings: wins and finished matches of each strategy
+    private long[] wins;
+    private long[] games;
+
+    public static void main(String[] args) throws IOException
+    {
+        TournamentMain main = new TournamentMain();
+        main.parse(args);
+        main.run();
+    }
+
+    private void parse(String[] args)
+    {
+        for(int i = 0; i + 1 < args.length; i += 2)
+        {
+            String value = args[i + 1];
+
+            switch(args[i])
+            {
+                case "--strategies":
+                    String[] names = value.split(",");
+                    strategies = new Strategy[names.length];
+
+                    for(int s = 0; s < names.length; s++)
+                    {
+                        strategies[s] = Strategy.parse(names[s]);
+                    }
+
+                    break;
+                case "--matches":
+                    matches = Integer.parseInt(value);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--step":
+                    step = Float.parseFloat(value);
+                    break;
+                case "--height":
+                    height = Float.parseFloat(value);
+                    break;
+                case "--max-time":
+                    maxTime = Float.parseFloat(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--out":
+                    out = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+    }
+
+    /**
+     * Plays all pairings and writes results.
+     * Both sides of a pairing use the same match seeds.
+     */
+    private void run() throws IOException
+    {
+        BatchSimulator simulator = new BatchSimulator(threads, height, step, maxTime, seed);
+        Rules rules = HeadlessWorld.rules();
+        wins = new long[strategies.length];
+        games = new long[strategies.length];
+        long tournamentStart = System.nanoTime();
+
+        try(PrintWriter writer = new PrintWriter(new FileWriter(out)))
+        {
+            writer.println(HEADER);
+            System.out.println(HEADER);
+
+            for(int i = 0; i < strategies.length; i++)
+            {
+                for(int j = i + 1; j < strategies.length; j++)
+                {
+                    long start = System.nanoTime();
+                    Statistics first = simulator.run(rules, strategies[i], strategies[j], matches / 2);
+                    Statistics second = simulator.run(rules, strategies[j], strategies[i], matches - matches / 2);
+                    long time = (System.nanoTime() - start) / 1000000;
+                    String row = row(i, j, first, second, time);
+                    writer.println(row);
+                    System.out.println(row);
+                }
+            }
+        }
+        finally
+        {
+            simulator.shutdown();
+        }
+
+        printStandings((System.nanoTime() - tournamentStart) / 1000000);
+    }
+
+    /**
+     * Creates result row of a pairing and adds its wins to standings.
+     * @param i is index of strategy 1.
+     * @param j is index of strategy 2.
+     * @param first are results with strategy 1 on paddle 1.
+     * @param second are results with strategy 1 on paddle 2.
+     * @param time is wall time of the pairing in milliseconds.
+     * @return CSV row.
+     */
+    private String row(int i, int j, Statistics first, Statistics second, long time)
+    {
+        long wins1 = first.getWins1() + second.getWins2();
+        long wins2 = first.getWins2() + second.getWins1();
+        long finished = wins1 + wins2;
+        wins[i] += wins1;
+        wins[j] += wins2;
+        games[i] += finished;
+        games[j] += finished;
+
+        Statistics statistics = new Statistics();
+        statistics.merge(first);
+        statistics.merge(second);
+
+        return String.format(Locale.US, "%s,%s,%d,%d,%d,%d,%.4f,%.4f,%.4f,%d,%.3f,%.3f,%.3f,%d",
+                strategies[i],
+                strategies[j],
+                statistics.getMatches(),
+                statistics.getUnfinished(),
+                wins1,
+                wins2,
+                finished == 0 ? 0 : (double) wins1 / finished,
+                Statistics.wilson(wins1, finished, false),
+                Statistics.wilson(wins1, finished, true),
+                statistics.getRallies(),
+                statistics.getMeanRallyHits(),
+                statistics.getRallyHitsInterval(),
+                statistics.getMeanMatchTime(),
+                time);
+    }
+
+    /**
+     * Prints strategies by win rate of all their matches.
+     * @param time is wall time of the tournament in milliseconds.
+     */
+    private void printStandings(long time)
+    {
+        Integer[] order = new Integer[strategies.length];
+
+        for(int i = 0; i < order.length; i++)
+        {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, new Comparator<Integer>()
+        {
+            @Override
+            public int compare(Integer a, Integer b)
+            {
+                return Double.compare(rate(b), rate(a));
+            }
+        });
+
+        System.out.println();
+        System.out.println(String.format(Locale.US, "Standings (%d ms):", time));
+
+        for(int i : order)
+        {
+            System.out.println(String.format(Locale.US, "%-24s win rate %.4f [%.4f, %.4f] of %d",
+                    strategies[i],
+                    rate(i),
+                    Statistics.wilson(wins[i], games[i], false),
+                    Statistics.wilson(wins[i], games[i], true),
+                    games[i]));
+        }
+    }
+
+    private double rate(int i)
+    {
+        return games[i] == 0 ? 0 : (double) wins[i] / games[i];
+    }
+}